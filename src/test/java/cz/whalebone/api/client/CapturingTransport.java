@@ -0,0 +1,127 @@
+package cz.whalebone.api.client;
+
+import cz.whalebone.reporting.HttpCapture;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps a {@link Transport} and records request/response pairs for Allure according to a {@link Policy}.
+ *
+ * <ul>
+ *   <li>{@code ALWAYS}: every exchange is attached.</li>
+ *   <li>{@code ON_FAILURE}: exchanges are buffered per thread and attached only if the test fails.</li>
+ *   <li>{@code SAMPLE}: every {@code sampleEvery}-th exchange (across all threads) is attached.</li>
+ * </ul>
+ *
+ * <p>A request that fails without a response is recorded with status {@code 0} and the exception as body.
+ * Bodies are cut at {@code maxBodyBytes} before they are kept, and attachments are written by the
+ * {@link cz.whalebone.reporting.ArtifactPipeline} workers, so looping the client costs a bounded copy per call
+ * rather than a full body serialization. Successful streamed bodies are not captured (that would defeat
+ * streaming); status and headers still are.</p>
+ */
+public final class CapturingTransport implements Transport {
+
+    public enum Policy {ALWAYS, ON_FAILURE, SAMPLE}
+
+    private final Transport delegate;
+    private final Policy policy;
+    private final int sampleEvery;
+    private final int maxBodyBytes;
+    private final int bufferSize;
+    private final AtomicLong seq = new AtomicLong();
+
+    public CapturingTransport(Transport delegate, Policy policy, int sampleEvery, int maxBodyBytes, int bufferSize) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.sampleEvery = sampleEvery;
+        this.maxBodyBytes = maxBodyBytes;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public HttpReply get(URI uri, Map<String, String> headers) {
+        if (!selected()) return delegate.get(uri, headers);
+
+        long start = System.nanoTime();
+        HttpReply reply;
+        try {
+            reply = delegate.get(uri, headers);
+        } catch (RuntimeException e) {
+            recordFailure(uri, headers, start, e);
+            throw e;
+        }
+        byte[] body = reply.body();
+        record(uri, headers, reply.status(), reply.headers(), start,
+                body.length > maxBodyBytes ? Arrays.copyOf(body, maxBodyBytes) : body, body.length);
+        return reply;
+    }
+
+    @Override
+    public Streamed stream(URI uri, Map<String, String> headers) {
+        if (!selected()) return delegate.stream(uri, headers);
+
+        long start = System.nanoTime();
+        Streamed streamed;
+        try {
+            streamed = delegate.stream(uri, headers);
+        } catch (RuntimeException e) {
+            recordFailure(uri, headers, start, e);
+            throw e;
+        }
+        if (streamed.status() >= 200 && streamed.status() < 300) {
+            record(uri, headers, streamed.status(), streamed.headers(), start, new byte[0], -1);
+            return streamed;
+        }
+
+        // Error bodies are small and are what triage needs: buffer them and hand back a replayable stream
+        HttpReply reply;
+        try {
+            reply = streamed.buffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] body = reply.body();
+        record(uri, headers, reply.status(), reply.headers(), start,
+                body.length > maxBodyBytes ? Arrays.copyOf(body, maxBodyBytes) : body, body.length);
+        return new Streamed(reply.status(), reply.headers(), new ByteArrayInputStream(body));
+    }
+
+    @Override
+    public void warmUp(URI baseUri) {
+        delegate.warmUp(baseUri);
+    }
+
+    @Override
+    public Transport withoutReporting() {
+        return delegate.withoutReporting();
+    }
+
+    private boolean selected() {
+        return policy != Policy.SAMPLE || seq.getAndIncrement() % sampleEvery == 0;
+    }
+
+    private void recordFailure(URI uri, Map<String, String> headers, long start, RuntimeException e) {
+        byte[] error = String.valueOf(e).getBytes(StandardCharsets.UTF_8);
+        record(uri, headers, 0, Map.of(), start, error, error.length);
+    }
+
+    private void record(URI uri, Map<String, String> headers, int status, Map<String, List<String>> responseHeaders,
+                        long start, byte[] body, long bodyLength) {
+        HttpCapture.Exchange exchange = new HttpCapture.Exchange("GET", uri.toString(), headers, status,
+                responseHeaders, body, bodyLength, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (policy == Policy.ON_FAILURE) {
+            HttpCapture.buffer(exchange, bufferSize);
+        } else {
+            HttpCapture.attach(exchange);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package cz.whalebone.api.client;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A fully buffered HTTP response as returned by a {@link Transport}, independent of the HTTP library.
+ * Bodies are already decoded ({@code Content-Encoding} has been removed). Header lookup is case-insensitive.
+ */
+public record HttpReply(int status, Map<String, List<String>> headers, byte[] body) {
+
+    public HttpReply {
+        Map<String, List<String>> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.forEach((k, v) -> {
+            if (k != null) copy.put(k, List.copyOf(v));
+        });
+        headers = Collections.unmodifiableMap(copy);
+    }
+
+    public String header(String name) {
+        List<String> values = headers.get(name);
+        return (values == null || values.isEmpty()) ? null : values.get(0);
+    }
+
+    /**
+     * Rebuilds a RestAssured {@link Response} so callers can keep using {@code then()} assertions.
+     */
+    public Response toResponse() {
+        List<Header> list = new ArrayList<>();
+        headers.forEach((name, values) -> values.forEach(v -> list.add(new Header(name, v))));
+
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(status)
+                .setHeaders(new Headers(list))
+                .setBody(body);
+        String contentType = header("Content-Type");
+        if (contentType != null) builder.setContentType(contentType);
+        return builder.build();
+    }
+}
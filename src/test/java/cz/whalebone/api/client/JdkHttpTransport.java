@@ -0,0 +1,125 @@
+package cz.whalebone.api.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link Transport} over a single {@code java.net.http.HttpClient}.
+ *
+ * <p>The client is thread-safe and keeps idle connections alive, so every test thread reuses the same
+ * pool: DNS, TCP and TLS setup are paid once per connection instead of once per request. With
+ * {@code http2=true} HTTPS connections negotiate HTTP/2 via ALPN and concurrent requests are multiplexed
+ * over one connection; servers without HTTP/2 fall back to HTTP/1.1 transparently.</p>
+ *
+ * <p>With {@code compression=true} responses are requested as {@code gzip} / {@code deflate} and decoded
+ * here (the JDK client does not decode bodies itself). Brotli is not offered because the JDK has no
+ * decoder for it.</p>
+ */
+public final class JdkHttpTransport implements Transport {
+
+    private static final Logger LOG = Logger.getLogger(JdkHttpTransport.class.getName());
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final boolean compression;
+
+    public JdkHttpTransport(boolean http2, boolean compression, Duration connectTimeout, Duration requestTimeout) {
+        this.client = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.requestTimeout = requestTimeout;
+        this.compression = compression;
+    }
+
+    @Override
+    public HttpReply get(URI uri, Map<String, String> headers) {
+        try {
+            return stream(uri, headers).buffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + uri + " failed", e);
+        }
+    }
+
+    @Override
+    public Streamed stream(URI uri, Map<String, String> headers) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).GET().timeout(requestTimeout);
+        if (compression) request.header("Accept-Encoding", "gzip, deflate");
+        headers.forEach(request::header);
+
+        HttpResponse<InputStream> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + uri + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during GET " + uri, e);
+        }
+        return decode(response);
+    }
+
+    /**
+     * Sends a {@code HEAD} to {@code baseUri} so the pool holds a connected (and, for HTTPS, handshaken)
+     * connection before the first test needs it.
+     */
+    @Override
+    public void warmUp(URI baseUri) {
+        HttpRequest head = HttpRequest.newBuilder(baseUri)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(requestTimeout)
+                .build();
+        try {
+            client.send(head, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Warm-up of " + baseUri + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Streamed decode(HttpResponse<InputStream> response) {
+        Map<String, List<String>> headers = new HashMap<>(response.headers().map());
+        boolean noBody = response.statusCode() == 204 || response.statusCode() == 304;
+        String encoding = noBody ? "identity" : response.headers().firstValue("Content-Encoding").orElse("identity")
+                .trim().toLowerCase(Locale.ROOT);
+        InputStream body = response.body();
+        try {
+            switch (encoding) {
+                case "gzip", "x-gzip" -> body = new GZIPInputStream(body, 16 * 1024);
+                case "deflate" -> body = new InflaterInputStream(body);
+                default -> {
+                    return new Streamed(response.statusCode(), headers, body);
+                }
+            }
+        } catch (IOException e) {
+            closeQuietly(body);
+            throw new UncheckedIOException("Failed to decode " + encoding + " response body", e);
+        }
+        headers.keySet().removeIf(k -> k.equalsIgnoreCase("Content-Encoding") || k.equalsIgnoreCase("Content-Length"));
+        return new Streamed(response.statusCode(), headers, body);
+    }
+
+    private static void closeQuietly(AutoCloseable c) {
+        try {
+            c.close();
+        } catch (Exception ignored) {
+            // nothing useful to do
+        }
+    }
+}
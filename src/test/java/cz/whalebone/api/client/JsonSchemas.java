@@ -0,0 +1,79 @@
+package cz.whalebone.api.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON schema validation against classpath schemas that are loaded and compiled once per JVM.
+ *
+ * <p>RestAssured's {@code matchesJsonSchemaInClasspath} re-reads and re-compiles the schema on every
+ * call and can only validate a {@code Response} it fetched itself. Here compiled schemas are cached
+ * by path, and validation works on the body a test already holds, so one fetch serves both schema
+ * validation and deserialization.</p>
+ */
+public final class JsonSchemas {
+
+    public static final String TEAMS = "schema/teams.schema.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    private static final Map<String, JsonSchema> COMPILED = new ConcurrentHashMap<>();
+
+    private JsonSchemas() {
+    }
+
+    public static ProcessingReport validate(String classpathSchema, JsonNode body) {
+        return schema(classpathSchema).validateUnchecked(body, true);
+    }
+
+    public static ProcessingReport validate(String classpathSchema, byte[] body) {
+        return validate(classpathSchema, tree(body));
+    }
+
+    /**
+     * Throws an {@link AssertionError} listing every violation if {@code body} does not match the schema.
+     */
+    public static void assertMatches(String classpathSchema, JsonNode body) {
+        ProcessingReport report = validate(classpathSchema, body);
+        if (!report.isSuccess()) {
+            throw new AssertionError("Response does not match " + classpathSchema + ":\n" + report);
+        }
+    }
+
+    public static void assertMatches(String classpathSchema, byte[] body) {
+        assertMatches(classpathSchema, tree(body));
+    }
+
+    public static JsonNode tree(byte[] body) {
+        try {
+            return MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new AssertionError("Response body is not valid JSON", e);
+        }
+    }
+
+    private static JsonSchema schema(String classpathSchema) {
+        return COMPILED.computeIfAbsent(classpathSchema, JsonSchemas::compile);
+    }
+
+    private static JsonSchema compile(String classpathSchema) {
+        try (InputStream in = JsonSchemas.class.getClassLoader().getResourceAsStream(classpathSchema)) {
+            if (in == null) throw new IllegalStateException(classpathSchema + " not found on classpath");
+            return FACTORY.getJsonSchema(MAPPER.readTree(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load schema " + classpathSchema, e);
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Invalid schema " + classpathSchema, e);
+        }
+    }
+}
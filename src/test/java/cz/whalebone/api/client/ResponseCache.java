@@ -0,0 +1,103 @@
+package cz.whalebone.api.client;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Suite-scoped cache of successful GET responses, shared by every {@link TeamsApiClient} that opts in.
+ *
+ * <ul>
+ *   <li><b>TTL:</b> an entry younger than {@code ttlMs} is served without any request.</li>
+ *   <li><b>Revalidation:</b> an expired entry that carried {@code ETag} / {@code Last-Modified} is sent
+ *   back as {@code If-None-Match} / {@code If-Modified-Since}; a {@code 304} refreshes it in place.</li>
+ *   <li><b>Single-flight:</b> concurrent lookups of the same key share one in-flight request.</li>
+ * </ul>
+ *
+ * <p>Only {@code 200} responses are stored; anything else is returned to the caller but not cached.</p>
+ */
+public final class ResponseCache {
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseCache(long ttlMs) {
+        this.ttlNanos = ttlMs * 1_000_000L;
+    }
+
+    /**
+     * Returns the cached entry for {@code key} if still fresh; otherwise runs {@code loader} (at most once
+     * across concurrent callers) with the stale entry, or {@code null}, so it can send conditional headers.
+     */
+    public Entry get(String key, UnaryOperator<Entry> loader) {
+        Entry cached = entries.get(key);
+        if (cached != null && System.nanoTime() - cached.storedAtNanos() < ttlNanos) {
+            return cached;
+        }
+
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                throw (e.getCause() instanceof RuntimeException re) ? re : e;
+            }
+        }
+
+        try {
+            Entry loaded = loader.apply(cached);
+            if (loaded.status() == 200) {
+                entries.put(key, loaded);
+            }
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * A cached reply and when it was stored or last revalidated.
+     */
+    public record Entry(HttpReply reply, long storedAtNanos) {
+
+        public static Entry of(HttpReply reply) {
+            return new Entry(reply, System.nanoTime());
+        }
+
+        public int status() {
+            return reply.status();
+        }
+
+        public byte[] body() {
+            return reply.body();
+        }
+
+        public String etag() {
+            return reply.header("ETag");
+        }
+
+        public String lastModified() {
+            return reply.header("Last-Modified");
+        }
+
+        public Entry revalidated() {
+            return new Entry(reply, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package cz.whalebone.api.client;
+
+import io.restassured.http.ContentType;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * {@link Transport} over RestAssured. RestAssured opens a new connection for every request, so this backend
+ * pays connection (and TLS) setup on each call; it is kept for comparison and as a fallback.
+ */
+public final class RestAssuredTransport implements Transport {
+
+    @Override
+    public HttpReply get(URI uri, Map<String, String> headers) {
+        Response response = request(headers).get(uri);
+        return new HttpReply(response.statusCode(), headers(response), response.asByteArray());
+    }
+
+    @Override
+    public Streamed stream(URI uri, Map<String, String> headers) {
+        Response response = request(headers).get(uri);
+        return new Streamed(response.statusCode(), headers(response), response.asInputStream());
+    }
+
+    private RequestSpecification request(Map<String, String> headers) {
+        return given()
+                .accept(ContentType.JSON)
+                .contentType(ContentType.JSON)
+                .headers(headers);
+    }
+
+    private static Map<String, List<String>> headers(Response response) {
+        Map<String, List<String>> map = new LinkedHashMap<>();
+        for (Header h : response.headers()) {
+            map.computeIfAbsent(h.getName(), k -> new ArrayList<>()).add(h.getValue());
+        }
+        // RestAssured has already decoded the body
+        map.keySet().removeIf(k -> k.equalsIgnoreCase("Content-Encoding") || k.equalsIgnoreCase("Content-Length"));
+        return map;
+    }
+}
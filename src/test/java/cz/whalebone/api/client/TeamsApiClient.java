@@ -1,27 +1,72 @@
 package cz.whalebone.api.client;
 
+import cz.whalebone.api.model.Team;
 import cz.whalebone.api.model.TeamsResponse;
+import cz.whalebone.reporting.StepProxies;
 import io.qameta.allure.Step;
-import io.qameta.allure.restassured.AllureRestAssured;
-import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.http.ContentType;
 import io.restassured.response.Response;
-import io.restassured.specification.RequestSpecification;
 
-import static io.restassured.RestAssured.given;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class TeamsApiClient {
 
-    private final RequestSpecification spec;
+    private static final String TEAMS_PATH = "/api/teams";
+    private static final Map<String, String> ACCEPT_JSON = Map.of("Accept", "application/json");
+
+    private final String baseUrl;
+    private final Transport transport;
+    private final ResponseCache cache;
 
     public TeamsApiClient(String baseUrl) {
-        this.spec = new RequestSpecBuilder()
-                .setBaseUri(baseUrl)
-                .setBasePath("/api")
-                .setAccept(ContentType.JSON)
-                .setContentType(ContentType.JSON)
-                .addFilter(new AllureRestAssured())
-                .build();
+        this(baseUrl, null);
+    }
+
+    /**
+     * @param cache shared response cache, or {@code null} to always hit the API
+     */
+    public TeamsApiClient(String baseUrl, ResponseCache cache) {
+        this(baseUrl, Transports.shared(), cache);
+    }
+
+    /**
+     * @param transport HTTP backend; normally {@link Transports#shared()}
+     * @param cache     shared response cache, or {@code null} to always hit the API
+     */
+    public TeamsApiClient(String baseUrl, Transport transport, ResponseCache cache) {
+        this.baseUrl = baseUrl;
+        this.transport = transport;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns a client sharing this client's configuration that never reads from or writes to the cache.
+     * For callers that need a fresh round-trip.
+     */
+    public TeamsApiClient bypassCache() {
+        return cache == null ? this : StepProxies.create(TeamsApiClient.class, baseUrl, transport, null);
+    }
+
+    /**
+     * Returns an uncached client that does not attach request/response logs or record steps in Allure, for
+     * high-volume callers such as the load generator.
+     */
+    public TeamsApiClient forLoad() {
+        return new TeamsApiClient(baseUrl, transport.withoutReporting(), null);
+    }
+
+    /**
+     * Opens a connection to the API ahead of the first test (see {@link Transport#warmUp(URI)}).
+     */
+    public void warmUp() {
+        transport.warmUp(URI.create(baseUrl + "/"));
     }
 
     /**
@@ -29,13 +74,44 @@ public class TeamsApiClient {
      */
     @Step("GET /api/teams")
     public TeamsResponse getTeams() {
-        return given(spec)
-                .when()
-                .get("/teams")
-                .then()
-                .statusCode(200)
-                .extract()
-                .as(TeamsResponse.class);
+        return TeamsJson.read(teamsBody());
+    }
+
+    /**
+     * GET /api/teams — asserts HTTP 200 and decodes teams lazily, one at a time, without building
+     * the full list. Close the stream to release the connection.
+     */
+    @Step("GET /api/teams (streaming)")
+    public Stream<Team> streamTeams() {
+        return TeamsJson.streamTeams(teamsBody());
+    }
+
+    /**
+     * GET /api/teams — asserts HTTP 200 and hands each team to {@code visitor} as it is decoded.
+     *
+     * @return number of teams visited
+     */
+    @Step("GET /api/teams (visit each team)")
+    public long forEachTeam(Consumer<Team> visitor) {
+        return TeamsJson.forEachTeam(teamsBody(), visitor);
+    }
+
+    private InputStream teamsBody() {
+        if (cache != null) {
+            HttpReply reply = cached(TEAMS_PATH).reply();
+            reply.toResponse().then().statusCode(200);
+            return new ByteArrayInputStream(reply.body());
+        }
+
+        Transport.Streamed streamed = transport.stream(uri(TEAMS_PATH), ACCEPT_JSON);
+        if (streamed.status() != 200) {
+            try {
+                streamed.buffer().toResponse().then().statusCode(200);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return streamed.body();
     }
 
     /**
@@ -43,8 +119,31 @@ public class TeamsApiClient {
      */
     @Step("GET /api/teams (raw)")
     public Response getTeamsRaw() {
-        return given(spec)
-                .when()
-                .get("/teams");
+        HttpReply reply = cache == null
+                ? transport.get(uri(TEAMS_PATH), ACCEPT_JSON)
+                : cached(TEAMS_PATH).reply();
+        return reply.toResponse();
+    }
+
+    private ResponseCache.Entry cached(String path) {
+        return cache.get(baseUrl + path, stale -> {
+            Map<String, String> headers = new HashMap<>(ACCEPT_JSON);
+            if (stale != null && stale.etag() != null) {
+                headers.put("If-None-Match", stale.etag());
+            }
+            if (stale != null && stale.lastModified() != null) {
+                headers.put("If-Modified-Since", stale.lastModified());
+            }
+
+            HttpReply reply = transport.get(uri(path), headers);
+            if (reply.status() == 304 && stale != null) {
+                return stale.revalidated();
+            }
+            return ResponseCache.Entry.of(reply);
+        });
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
     }
 }
@@ -0,0 +1,147 @@
+package cz.whalebone.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import cz.whalebone.api.model.Team;
+import cz.whalebone.api.model.TeamsResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Decodes {@code /api/teams} payloads straight from bytes or a response stream.
+ *
+ * <p>The readers are built once and shared (Jackson readers are immutable and thread-safe), so no
+ * per-call mapper setup or intermediate {@code String} copy of the body is needed.
+ * {@link #streamTeams(InputStream)} binds one {@link Team} at a time from the {@code teams} array,
+ * so callers can process very large payloads without materializing the list.</p>
+ */
+public final class TeamsJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final ObjectReader RESPONSE_READER = MAPPER.readerFor(TeamsResponse.class);
+    private static final ObjectReader TEAM_READER = MAPPER.readerFor(Team.class);
+
+    private TeamsJson() {
+    }
+
+    public static TeamsResponse read(byte[] body) {
+        try {
+            return RESPONSE_READER.readValue(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode teams response", e);
+        }
+    }
+
+    /**
+     * Binds an already parsed tree, e.g. one that was just schema-validated.
+     */
+    public static TeamsResponse read(JsonNode tree) {
+        try {
+            return RESPONSE_READER.readValue(tree);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode teams response", e);
+        }
+    }
+
+    public static TeamsResponse read(InputStream body) {
+        try (InputStream in = body) {
+            return RESPONSE_READER.readValue(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode teams response", e);
+        }
+    }
+
+    /**
+     * Encodes {@code response} in the {@code /api/teams} wire format (used by the stand-in server).
+     */
+    public static byte[] write(TeamsResponse response) {
+        try {
+            return MAPPER.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode teams response", e);
+        }
+    }
+
+    /**
+     * Lazily binds the elements of the top-level {@code teams} array. The stream owns {@code body};
+     * close it (try-with-resources) to release the underlying connection.
+     */
+    public static Stream<Team> streamTeams(InputStream body) {
+        JsonParser parser;
+        try {
+            parser = MAPPER.getFactory().createParser(body);
+            if (!seekTeamsArray(parser)) {
+                parser.close();
+                return Stream.empty();
+            }
+        } catch (IOException e) {
+            closeQuietly(body);
+            throw new UncheckedIOException("Failed to decode teams response", e);
+        }
+
+        Spliterator<Team> teams = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Team> action) {
+                try {
+                    if (parser.nextToken() != JsonToken.START_OBJECT) return false;
+                    action.accept(TEAM_READER.readValue(parser));
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to decode team", e);
+                }
+            }
+        };
+        return StreamSupport.stream(teams, false).onClose(() -> closeQuietly(parser));
+    }
+
+    /**
+     * Visits every team in {@code body} one at a time.
+     *
+     * @return number of teams visited
+     */
+    public static long forEachTeam(InputStream body, Consumer<Team> visitor) {
+        long[] count = {0};
+        try (Stream<Team> teams = streamTeams(body)) {
+            teams.forEach(t -> {
+                visitor.accept(t);
+                count[0]++;
+            });
+        }
+        return count[0];
+    }
+
+    /**
+     * Advances {@code parser} to the start of the top-level {@code teams} array, skipping other fields.
+     */
+    private static boolean seekTeamsArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) return false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("teams".equals(field) && value == JsonToken.START_ARRAY) return true;
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static void closeQuietly(AutoCloseable c) {
+        try {
+            c.close();
+        } catch (Exception ignored) {
+            // nothing useful to do
+        }
+    }
+}
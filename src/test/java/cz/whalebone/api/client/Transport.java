@@ -0,0 +1,69 @@
+package cz.whalebone.api.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP backend used by {@link TeamsApiClient}; implementations must be thread-safe and are shared
+ * between clients (see {@link Transports#shared()}).
+ *
+ * <ul>
+ *   <li>{@link JdkHttpTransport}: one pooled {@code java.net.http.HttpClient} with keep-alive, optional
+ *   HTTP/2 and compressed responses.</li>
+ *   <li>{@link RestAssuredTransport}: the previous RestAssured path (a new connection per request).</li>
+ * </ul>
+ */
+public interface Transport {
+
+    /**
+     * Sends a GET and buffers the decoded body.
+     */
+    HttpReply get(URI uri, Map<String, String> headers);
+
+    /**
+     * Sends a GET and hands back the decoded body as a stream; the caller must close it.
+     */
+    Streamed stream(URI uri, Map<String, String> headers);
+
+    /**
+     * Pays connection setup (DNS, TCP, TLS) ahead of the first real request. Failures are ignored;
+     * the real request will report them.
+     */
+    default void warmUp(URI baseUri) {
+        try {
+            InetAddress.getAllByName(baseUri.getHost());
+        } catch (UnknownHostException ignored) {
+            // reported by the first real request
+        }
+    }
+
+    /**
+     * This transport without request/response capture (see {@link CapturingTransport}), for high-volume callers.
+     */
+    default Transport withoutReporting() {
+        return this;
+    }
+
+    record Streamed(int status, Map<String, List<String>> headers, InputStream body) implements Closeable {
+
+        /**
+         * Drains the stream into a buffered reply, e.g. to report an unexpected status.
+         */
+        public HttpReply buffer() throws IOException {
+            try (InputStream in = body) {
+                return new HttpReply(status, headers, in.readAllBytes());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cz.whalebone.api.client;
+
+import cz.whalebone.config.Config;
+
+import java.time.Duration;
+
+/**
+ * The suite-wide {@link Transport} selected by {@code api.transport}. It is created once and shared by every
+ * {@link TeamsApiClient}, so all threads draw on the same connection pool. Unless {@code api.capture=off} it is
+ * wrapped in a {@link CapturingTransport}.
+ */
+public final class Transports {
+
+    private static volatile Transport shared;
+
+    private Transports() {
+    }
+
+    public static Transport shared() {
+        Transport transport = shared;
+        if (transport == null) {
+            synchronized (Transports.class) {
+                transport = shared;
+                if (transport == null) {
+                    transport = create();
+                    shared = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    private static Transport create() {
+        Transport transport = switch (Config.apiTransport()) {
+            case "jdk" -> new JdkHttpTransport(
+                    Config.apiHttp2(),
+                    Config.apiCompression(),
+                    Duration.ofMillis(Config.apiConnectTimeoutMs()),
+                    Duration.ofMillis(Config.apiRequestTimeoutMs()));
+            default -> new RestAssuredTransport();
+        };
+
+        CapturingTransport.Policy policy = switch (Config.apiCapture()) {
+            case "always" -> CapturingTransport.Policy.ALWAYS;
+            case "on-failure" -> CapturingTransport.Policy.ON_FAILURE;
+            case "sample" -> CapturingTransport.Policy.SAMPLE;
+            default -> null;
+        };
+        return policy == null ? transport : new CapturingTransport(transport, policy,
+                Config.apiCaptureSampleEvery(), Config.apiCaptureMaxBodyKb() * 1024, Config.apiCaptureBufferSize());
+    }
+}
@@ -0,0 +1,206 @@
+package cz.whalebone.api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drives an {@link Operation} according to a {@link LoadProfile} and measures it.
+ *
+ * <p><b>Coordinated omission:</b> every request has an intended start time (its slot in the arrival
+ * schedule, or in the worker's pacing schedule for a paced closed run). Latency is recorded from that
+ * intended time, so a stalled server is charged for the requests it delayed, not only for the one that
+ * stalled. The uncorrected service time (measured from the actual send) is kept alongside for comparison.
+ * An unpaced closed run has no schedule, so both histograms are the same there.</p>
+ *
+ * <p>Workers run on virtual threads when the JVM provides them (Java 21+) and on a platform thread pool
+ * otherwise. Only successful (2xx) requests are recorded in the histograms; failures are counted by type.</p>
+ */
+public final class LoadGenerator {
+
+    private static final Logger LOG = Logger.getLogger(LoadGenerator.class.getName());
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadProfile profile;
+    private final Histogram corrected = new ConcurrentHistogram(3);
+    private final Histogram uncorrected = new ConcurrentHistogram(3);
+    private final LongAdder succeeded = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAccumulator lastCompletion = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    private long start;
+    private long measureFrom;
+    private long end;
+
+    private LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Runs {@code operation} under {@code profile} and returns the measured result; blocks for
+     * warm-up + duration (plus the time needed to drain in-flight requests).
+     */
+    public static LoadReport run(String name, LoadProfile profile, Operation operation) {
+        return new LoadGenerator(profile).execute(name, operation);
+    }
+
+    private LoadReport execute(String name, Operation operation) {
+        start = System.nanoTime();
+        measureFrom = start + profile.warmup().toNanos();
+        end = measureFrom + profile.duration().toNanos();
+
+        int platformThreads = profile.model() == LoadProfile.Model.OPEN ? profile.maxInFlight() : profile.concurrency();
+        ExecutorService virtual = newVirtualThreadExecutor();
+        ExecutorService executor = virtual != null ? virtual : newPlatformExecutor(platformThreads);
+        try {
+            if (profile.model() == LoadProfile.Model.OPEN) {
+                runOpen(executor, operation);
+            } else {
+                runClosed(executor, operation);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long measuredNanos = Math.max(1, Math.max(lastCompletion.get(), end) - measureFrom);
+        return LoadReport.of(name, profile, virtual != null, corrected, uncorrected,
+                succeeded.sum(), errors, measuredNanos);
+    }
+
+    /**
+     * Fixed arrival rate: request {@code i} is due at {@code start + i / rate}, whether or not earlier
+     * requests have finished. If {@code maxInFlight} is exhausted the schedule slips, but the wait is
+     * still charged to the delayed requests because latency is measured from their due time.
+     */
+    private void runOpen(ExecutorService executor, Operation operation) {
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+        long rate = profile.ratePerSec();
+        for (long i = 0; ; i++) {
+            long intended = start + i * SECOND_NANOS / rate;
+            if (intended - end >= 0) break;
+            parkUntil(intended);
+            inFlight.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    call(operation, intended);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquireUninterruptibly(profile.maxInFlight());
+    }
+
+    /**
+     * Fixed concurrency: each worker loops until the end of the run. With a target rate every worker
+     * follows its own schedule (staggered so the workers do not fire in lockstep).
+     */
+    private void runClosed(ExecutorService executor, Operation operation) {
+        int workers = profile.concurrency();
+        long period = profile.ratePerSec() > 0 ? workers * SECOND_NANOS / profile.ratePerSec() : 0;
+
+        List<Future<?>> futures = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            long offset = period * w / workers;
+            futures.add(executor.submit(() -> {
+                long intended = start + offset;
+                while (true) {
+                    if (period > 0) {
+                        parkUntil(intended);
+                    } else {
+                        intended = System.nanoTime();
+                    }
+                    if (intended - end >= 0) return;
+                    call(operation, intended);
+                    intended += period;
+                }
+            }));
+        }
+
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+        }
+    }
+
+    private void call(Operation operation, long intended) {
+        long sent = System.nanoTime();
+        String error = null;
+        try {
+            int status = operation.call();
+            if (status < 200 || status >= 300) error = "HTTP " + status;
+        } catch (Exception | AssertionError e) {
+            error = e.getClass().getSimpleName();
+        }
+        long done = System.nanoTime();
+        lastCompletion.accumulate(done);
+
+        if (intended - measureFrom < 0) return; // warm-up
+        if (error != null) {
+            errors.computeIfAbsent(error, k -> new LongAdder()).increment();
+            return;
+        }
+        corrected.recordValue(TimeUnit.NANOSECONDS.toMicros(done - intended));
+        uncorrected.recordValue(TimeUnit.NANOSECONDS.toMicros(done - sent));
+        succeeded.increment();
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()} looked up reflectively: the project targets
+     * Java 17, but picks up virtual threads when run on a newer JVM.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.log(Level.FINE, "Virtual threads not available, using platform threads", e);
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads) {
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "load-worker-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * One request. Returns the HTTP status; anything outside 2xx, or a thrown exception, counts as an error.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        int call() throws Exception;
+    }
+}
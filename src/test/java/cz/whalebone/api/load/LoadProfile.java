@@ -0,0 +1,41 @@
+package cz.whalebone.api.load;
+
+import cz.whalebone.config.Config;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Shape of one load run.
+ *
+ * <ul>
+ *   <li>{@link Model#CLOSED}: {@code concurrency} workers each send a request as soon as their previous one
+ *   completes. With {@code ratePerSec > 0} the workers are paced so that together they aim for that rate.</li>
+ *   <li>{@link Model#OPEN}: requests are started at a fixed {@code ratePerSec} regardless of how long earlier
+ *   ones take; at most {@code maxInFlight} run at once.</li>
+ * </ul>
+ *
+ * <p>Requests started during {@code warmup} are executed but not measured; {@code duration} is the measured
+ * window that follows.</p>
+ */
+public record LoadProfile(Model model, int concurrency, int ratePerSec, Duration duration, Duration warmup,
+                          int maxInFlight) {
+
+    public enum Model {CLOSED, OPEN}
+
+    public LoadProfile {
+        if (model == Model.OPEN && ratePerSec <= 0) {
+            throw new IllegalStateException("load.ratePerSec must be > 0 for the open model");
+        }
+    }
+
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(
+                Model.valueOf(Config.loadModel().toUpperCase(Locale.ROOT)),
+                Config.loadConcurrency(),
+                Config.loadRatePerSec(),
+                Duration.ofSeconds(Config.loadDurationSec()),
+                Duration.ofSeconds(Config.loadWarmupSec()),
+                Config.loadMaxInFlight());
+    }
+}
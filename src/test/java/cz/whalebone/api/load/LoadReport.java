@@ -0,0 +1,126 @@
+package cz.whalebone.api.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import cz.whalebone.config.Config;
+import cz.whalebone.reporting.ArtifactPipeline;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Result of one {@link LoadGenerator} run, serialized as JSON.
+ *
+ * <p>{@code latencyMs} is corrected for coordinated omission, {@code serviceTimeMs} is not (see
+ * {@link LoadGenerator}). {@code histogram} is the corrected HdrHistogram in its compressed, base64
+ * encoded form (values in microseconds), so runs can be merged or plotted later with HdrHistogram tools.</p>
+ */
+public record LoadReport(String name,
+                         String model,
+                         int concurrency,
+                         int targetRatePerSec,
+                         long durationSec,
+                         long warmupSec,
+                         boolean virtualThreads,
+                         long requests,
+                         long errors,
+                         double errorRatePct,
+                         double throughputRps,
+                         Latency latencyMs,
+                         Latency serviceTimeMs,
+                         Map<String, Long> errorsByType,
+                         String histogram) {
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
+
+    public record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+
+        static Latency of(Histogram micros) {
+            return new Latency(
+                    ms(micros.getValueAtPercentile(50)),
+                    ms(micros.getValueAtPercentile(90)),
+                    ms(micros.getValueAtPercentile(99)),
+                    ms(micros.getValueAtPercentile(99.9)),
+                    ms(micros.getMaxValue()),
+                    micros.getMean() / 1000.0);
+        }
+
+        private static double ms(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    static LoadReport of(String name, LoadProfile profile, boolean virtualThreads, Histogram corrected,
+                         Histogram uncorrected, long succeeded, Map<String, LongAdder> errors, long measuredNanos) {
+        Map<String, Long> byType = new TreeMap<>();
+        errors.forEach((k, v) -> byType.put(k, v.sum()));
+        long failed = byType.values().stream().mapToLong(Long::longValue).sum();
+        long total = succeeded + failed;
+
+        return new LoadReport(
+                name,
+                profile.model().name().toLowerCase(Locale.ROOT),
+                profile.concurrency(),
+                profile.ratePerSec(),
+                profile.duration().toSeconds(),
+                profile.warmup().toSeconds(),
+                virtualThreads,
+                total,
+                failed,
+                total == 0 ? 0 : failed * 100.0 / total,
+                total * (double) TimeUnit.SECONDS.toNanos(1) / measuredNanos,
+                Latency.of(corrected),
+                Latency.of(uncorrected),
+                byType,
+                encode(corrected));
+    }
+
+    public String toJson() {
+        try {
+            return WRITER.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize load report", e);
+        }
+    }
+
+    /**
+     * Writes the report to {@code load.reportDir} and attaches it to the running test.
+     *
+     * @return the written file
+     */
+    public Path publish() {
+        String json = toJson();
+        Path file = Paths.get(Config.loadReportDir()).resolve(name + "_"
+                + DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss").format(LocalDateTime.now()) + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, json, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write load report " + file, e);
+        }
+        ArtifactPipeline.get().attachText("Load report: " + name, "application/json", ".json", json);
+        return file;
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buf = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buf);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buf.array(), length));
+    }
+}
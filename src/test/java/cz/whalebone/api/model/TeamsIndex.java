@@ -0,0 +1,201 @@
+package cz.whalebone.api.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable lookup structure over a {@link TeamsResponse}, built once per response.
+ *
+ * <p>Teams are kept in one array; every lookup is a precomputed {@code int[]} of positions into it,
+ * so queries do no scanning, boxing or collecting. Returned lists are read-only views over those
+ * positions. The index is safe to share between threads.</p>
+ *
+ * <ul>
+ *   <li>city → teams (exact match, blank locations skipped)</li>
+ *   <li>division → teams (case-insensitive)</li>
+ *   <li>founding year → teams, plus oldest / newest (binary search over years sorted ascending)</li>
+ * </ul>
+ */
+public final class TeamsIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final Team[] teams;
+    private final int[] byFounded;
+    private final int[] foundedSorted;
+    private final Map<String, int[]> byCity;
+    private final Map<String, int[]> byDivision;
+    private final List<String> multiTeamCities;
+
+    private TeamsIndex(Team[] teams) {
+        this.teams = teams;
+
+        // Sort positions by founding year without boxing: pack (year, position) into one long
+        long[] packed = new long[teams.length];
+        for (int i = 0; i < teams.length; i++) {
+            packed[i] = ((long) teams[i].founded() << 32) | i;
+        }
+        Arrays.sort(packed);
+        this.byFounded = new int[teams.length];
+        this.foundedSorted = new int[teams.length];
+        for (int i = 0; i < packed.length; i++) {
+            byFounded[i] = (int) packed[i];
+            foundedSorted[i] = (int) (packed[i] >> 32);
+        }
+
+        this.byCity = group(teams, t -> blankToNull(t.location()));
+        this.byDivision = group(teams, t -> (t.division() == null || t.division().name() == null)
+                ? null
+                : t.division().name().toLowerCase(Locale.ROOT));
+        this.multiTeamCities = byCity.entrySet().stream()
+                .filter(e -> e.getValue().length > 1)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    public static TeamsIndex of(TeamsResponse response) {
+        return of(response.teams());
+    }
+
+    public static TeamsIndex of(List<Team> teams) {
+        return new TeamsIndex(teams.toArray(new Team[0]));
+    }
+
+    public int size() {
+        return teams.length;
+    }
+
+    public List<Team> teams() {
+        return Collections.unmodifiableList(Arrays.asList(teams));
+    }
+
+    public Optional<Team> oldest() {
+        return teams.length == 0 ? Optional.empty() : Optional.of(teams[byFounded[0]]);
+    }
+
+    public Optional<Team> newest() {
+        return teams.length == 0 ? Optional.empty() : Optional.of(teams[byFounded[teams.length - 1]]);
+    }
+
+    public List<Team> inCity(String city) {
+        return view(city == null ? NONE : byCity.getOrDefault(city, NONE));
+    }
+
+    public Set<String> cities() {
+        return byCity.keySet();
+    }
+
+    /**
+     * Cities with more than one team, sorted alphabetically.
+     */
+    public List<String> citiesWithMultipleTeams() {
+        return multiTeamCities;
+    }
+
+    public List<Team> inDivision(String division) {
+        return division == null
+                ? view(NONE)
+                : view(byDivision.getOrDefault(division.toLowerCase(Locale.ROOT), NONE));
+    }
+
+    public List<Team> foundedIn(int year) {
+        return foundedBetween(year, year);
+    }
+
+    /**
+     * Teams founded in {@code [fromYear, toYear]}, oldest first.
+     */
+    public List<Team> foundedBetween(int fromYear, int toYear) {
+        if (fromYear > toYear) return view(NONE);
+        int from = lowerBound(fromYear);
+        int to = upperBound(toYear);
+        return view(Arrays.copyOfRange(byFounded, from, to));
+    }
+
+    /**
+     * Index of the first team founded in or after {@code year}.
+     */
+    private int lowerBound(int year) {
+        int lo = 0;
+        int hi = foundedSorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (foundedSorted[mid] < year) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Index of the first team founded after {@code year} (no {@code year + 1}, which overflows at the top).
+     */
+    private int upperBound(int year) {
+        int lo = 0;
+        int hi = foundedSorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (foundedSorted[mid] <= year) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private List<Team> view(int[] positions) {
+        return new View(teams, positions);
+    }
+
+    private static Map<String, int[]> group(Team[] teams, Function<Team, String> key) {
+        // Growable buffers: slot 0 holds the count, positions follow
+        Map<String, int[]> buffers = new HashMap<>();
+        for (int i = 0; i < teams.length; i++) {
+            String k = key.apply(teams[i]);
+            if (k == null) continue;
+            int[] buf = buffers.get(k);
+            if (buf == null) {
+                buf = new int[4];
+            } else if (buf[0] + 1 == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            buf[++buf[0]] = i;
+            buffers.put(k, buf);
+        }
+
+        Map<String, int[]> out = new HashMap<>(buffers.size() * 2);
+        buffers.forEach((k, buf) -> out.put(k, Arrays.copyOfRange(buf, 1, buf[0] + 1)));
+        return Map.copyOf(out);
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.isBlank()) ? null : s;
+    }
+
+    private static final class View extends AbstractList<Team> implements RandomAccess {
+        private final Team[] teams;
+        private final int[] positions;
+
+        private View(Team[] teams, int[] positions) {
+            this.teams = teams;
+            this.positions = positions;
+        }
+
+        @Override
+        public Team get(int index) {
+            return teams[positions[index]];
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package cz.whalebone.api.stub;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Latency the stand-in adds before answering, parsed from {@code stub.latency}.
+ *
+ * <ul>
+ *   <li>{@code none}</li>
+ *   <li>{@code fixed:<ms>}</li>
+ *   <li>{@code uniform:<min>-<max>}</li>
+ *   <li>{@code normal:<mean>,<stddev>} (clamped at 0)</li>
+ *   <li>{@code lognormal:<median>,<sigma>}, a long right tail like real services</li>
+ * </ul>
+ */
+public final class LatencyModel {
+
+    public static final LatencyModel NONE = new LatencyModel("none", r -> 0);
+
+    private final String spec;
+    private final Sampler sampler;
+
+    private LatencyModel(String spec, Sampler sampler) {
+        this.spec = spec;
+        this.sampler = sampler;
+    }
+
+    public static LatencyModel parse(String spec) {
+        String s = spec.trim().toLowerCase(Locale.ROOT);
+        if (s.isEmpty() || s.equals("none")) return NONE;
+
+        int colon = s.indexOf(':');
+        String kind = colon < 0 ? s : s.substring(0, colon);
+        String args = colon < 0 ? "" : s.substring(colon + 1);
+        try {
+            switch (kind) {
+                case "fixed" -> {
+                    double ms = nonNegative(Double.parseDouble(args));
+                    return new LatencyModel(s, r -> ms);
+                }
+                case "uniform" -> {
+                    String[] p = args.split("-");
+                    double min = nonNegative(Double.parseDouble(p[0]));
+                    double max = nonNegative(Double.parseDouble(p[1]));
+                    if (max < min) throw new IllegalArgumentException("max < min");
+                    return new LatencyModel(s, r -> min + r.nextDouble() * (max - min));
+                }
+                case "normal" -> {
+                    String[] p = args.split(",");
+                    double mean = nonNegative(Double.parseDouble(p[0]));
+                    double stddev = nonNegative(Double.parseDouble(p[1]));
+                    return new LatencyModel(s, r -> Math.max(0, mean + r.nextGaussian() * stddev));
+                }
+                case "lognormal" -> {
+                    String[] p = args.split(",");
+                    double mu = Math.log(Double.parseDouble(p[0]));
+                    double sigma = nonNegative(Double.parseDouble(p[1]));
+                    return new LatencyModel(s, r -> Math.exp(mu + r.nextGaussian() * sigma));
+                }
+                default -> throw new IllegalArgumentException("unknown distribution " + kind);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("stub.latency must be none, fixed:<ms>, uniform:<min>-<max>, "
+                    + "normal:<mean>,<stddev> or lognormal:<median>,<sigma>, got: " + spec, e);
+        }
+    }
+
+    public long sampleMillis(Random random) {
+        return Math.round(sampler.sample(random));
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private static double nonNegative(double v) {
+        if (v < 0 || Double.isNaN(v)) throw new IllegalArgumentException("negative value " + v);
+        return v;
+    }
+
+    @FunctionalInterface
+    private interface Sampler {
+        double sample(Random random);
+    }
+}
@@ -0,0 +1,65 @@
+package cz.whalebone.api.stub;
+
+import cz.whalebone.api.client.TeamsJson;
+import cz.whalebone.api.model.Division;
+import cz.whalebone.api.model.Team;
+import cz.whalebone.api.model.TeamsResponse;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Payload served by {@link TeamsStubServer}: the 32 real teams from {@code stub/teams.json}, optionally
+ * followed by generated teams for payload-size experiments.
+ *
+ * <p>Generated teams are deterministic for a given seed, valid against {@code schema/teams.schema.json},
+ * reuse the real divisions and are all founded after 1909, so the real league's oldest team stays the oldest.
+ * Any synthetic team changes the team count, so {@code TeamsApiTests} expects {@code stub.syntheticTeams=0}.</p>
+ */
+public final class SyntheticLeague {
+
+    private static final String FIXTURE = "stub/teams.json";
+
+    private static final String[] CITIES = {
+            "Halifax", "Quebec City", "Hamilton", "Saskatoon", "Regina", "Victoria", "Portland", "Milwaukee",
+            "Kansas City", "Houston", "Atlanta", "Hartford", "Cleveland", "Omaha", "Sacramento", "Albuquerque"
+    };
+    private static final String[] NICKNAMES = {
+            "Comets", "Voyageurs", "Wolves", "Bears", "Admirals", "Storm", "Falcons", "Griffins",
+            "Pioneers", "Rockets", "Lumberjacks", "Blizzard", "Thunder", "Outlaws", "Mariners", "Moose"
+    };
+
+    private SyntheticLeague() {
+    }
+
+    public static TeamsResponse generate(int syntheticTeams, long seed) {
+        List<Team> real = fixture().teams();
+        List<Division> divisions = real.stream().map(Team::division).distinct().toList();
+
+        List<Team> teams = new ArrayList<>(real.size() + syntheticTeams);
+        teams.addAll(real);
+
+        Random random = new Random(seed);
+        for (int i = 1; i <= syntheticTeams; i++) {
+            String city = CITIES[random.nextInt(CITIES.length)];
+            String nickname = NICKNAMES[random.nextInt(NICKNAMES.length)];
+            int founded = 1910 + random.nextInt(115);
+            teams.add(new Team(
+                    city + " " + nickname + " " + i,
+                    city,
+                    founded,
+                    founded + random.nextInt(3),
+                    divisions.get(random.nextInt(divisions.size())),
+                    "https://example.com/synthetic/" + i));
+        }
+        return new TeamsResponse(teams);
+    }
+
+    private static TeamsResponse fixture() {
+        InputStream in = SyntheticLeague.class.getClassLoader().getResourceAsStream(FIXTURE);
+        if (in == null) throw new IllegalStateException(FIXTURE + " not found on classpath");
+        return TeamsJson.read(in);
+    }
+}
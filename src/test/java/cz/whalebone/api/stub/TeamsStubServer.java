@@ -0,0 +1,259 @@
+package cz.whalebone.api.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import cz.whalebone.api.client.TeamsJson;
+import cz.whalebone.config.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-JVM stand-in for {@code GET /api/teams}, bound to the loopback interface.
+ *
+ * <p>The body ({@link SyntheticLeague}) is encoded once at start, plain and gzip, with a strong
+ * {@code ETag} and a {@code Last-Modified}, so conditional requests get a {@code 304} just like a
+ * caching-aware API. Each request then goes through the configured faults, in this order:</p>
+ *
+ * <ol>
+ *   <li>latency drawn from the {@link LatencyModel};</li>
+ *   <li>dropped connection ({@code dropRatePct}): the socket is closed without a response;</li>
+ *   <li>error ({@code errorRatePct}): {@code errorStatus} with a small JSON body;</li>
+ *   <li>slow drip ({@code slowDripRatePct}): the body is streamed at {@code slowDripBytesPerSec}.</li>
+ * </ol>
+ *
+ * <p>All randomness comes from one seeded {@link Random}, so a run with the same settings and request
+ * sequence injects the same faults.</p>
+ */
+public final class TeamsStubServer implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(TeamsStubServer.class.getName());
+    private static final String TEAMS_PATH = "/api/teams";
+    private static final byte[] ERROR_BODY = "{\"error\":\"injected fault\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Random random;
+    private final byte[] body;
+    private final byte[] gzipBody;
+    private final String etag;
+    private final String lastModified;
+    private final LongAdder requests = new LongAdder();
+
+    private TeamsStubServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+        this.body = TeamsJson.write(SyntheticLeague.generate(settings.syntheticTeams(), settings.seed()));
+        this.gzipBody = gzip(body);
+        this.etag = "\"" + sha256(body) + "\"";
+        this.lastModified = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS));
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(settings.threads(), r -> {
+            Thread t = new Thread(r, "teams-stub-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.port()), 0);
+        this.server.createContext(TEAMS_PATH, this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public static TeamsStubServer start(Settings settings) {
+        // Headers and body go out as separate writes; without TCP_NODELAY, Nagle + delayed ACK add ~40 ms
+        // to every response. Read once when the JDK server classes initialize, so set it before creating one.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            TeamsStubServer stub = new TeamsStubServer(settings);
+            stub.server.start();
+            LOG.info("Teams stand-in listening on " + stub.baseUrl() + " (" + settings + ", "
+                    + stub.body.length + " bytes)");
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start teams stand-in", e);
+        }
+    }
+
+    /**
+     * Base URL to use as {@code api.baseUrl}, e.g. {@code http://127.0.0.1:51234}.
+     */
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, ERROR_BODY);
+                return;
+            }
+            if (!TEAMS_PATH.equals(exchange.getRequestURI().getPath())) {
+                send(exchange, 404, ERROR_BODY);
+                return;
+            }
+
+            sleep(settings.latency().sampleMillis(random));
+            if (roll(settings.dropRatePct())) {
+                // HttpServer closes the connection without writing anything when a handler throws
+                throw new DroppedConnection();
+            }
+            if (roll(settings.errorRatePct())) {
+                send(exchange, settings.errorStatus(), ERROR_BODY);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Last-Modified", lastModified);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))
+                    || lastModified.equals(exchange.getRequestHeaders().getFirst("If-Modified-Since"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            byte[] payload = body;
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                payload = gzipBody;
+            }
+
+            if (roll(settings.slowDripRatePct())) {
+                drip(exchange, payload, settings.slowDripBytesPerSec());
+            } else {
+                send(exchange, 200, payload);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] payload) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+
+    /**
+     * Streams {@code payload} chunked in ten slices per second, flushing each one.
+     */
+    private static void drip(HttpExchange exchange, byte[] payload, int bytesPerSec) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        int slice = Math.max(1, bytesPerSec / 10);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int off = 0; off < payload.length; off += slice) {
+                out.write(payload, off, Math.min(slice, payload.length - off));
+                out.flush();
+                sleep(100);
+            }
+        }
+    }
+
+    private boolean roll(int pct) {
+        return pct > 0 && random.nextInt(100) < pct;
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(buf)) {
+            gz.write(bytes);
+        }
+        return buf.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class DroppedConnection extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private DroppedConnection() {
+            super("injected dropped connection", null, false, false);
+        }
+    }
+
+    /**
+     * Stand-in configuration; {@link #fromConfig()} reads the {@code stub.*} keys.
+     */
+    public record Settings(int port,
+                           int threads,
+                           LatencyModel latency,
+                           int errorRatePct,
+                           int errorStatus,
+                           int dropRatePct,
+                           int slowDripRatePct,
+                           int slowDripBytesPerSec,
+                           int syntheticTeams,
+                           long seed) {
+
+        public static Settings fromConfig() {
+            return new Settings(
+                    Config.stubPort(),
+                    Config.stubThreads(),
+                    LatencyModel.parse(Config.stubLatency()),
+                    Config.stubErrorRatePct(),
+                    Config.stubErrorStatus(),
+                    Config.stubDropRatePct(),
+                    Config.stubSlowDripRatePct(),
+                    Config.stubSlowDripBytesPerSec(),
+                    Config.stubSyntheticTeams(),
+                    Config.stubSeed());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package cz.whalebone.bench;
+
+import cz.whalebone.util.BirthplaceParser;
+import cz.whalebone.util.CountryHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Country counting over roster birthplaces: the original {@code trim/split/toUpperCase} formulation against
+ * {@link BirthplaceParser} and the one-pass {@link CountryHistogram}.
+ *
+ * <p>Run with {@code mvn verify -Pbench -Dbench.include=BirthplaceBenchmark}; add {@code -Dbench.args="-prof gc"}
+ * to see allocation per operation. That the variants agree is checked by {@code BirthplaceParserTests}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BirthplaceBenchmark {
+
+    private static final String[] PLACES = {
+            "Montreal, QC, CAN", "Toronto, ON, CAN", "Boston, MA, USA", "Detroit, MI, USA ",
+            "Stockholm, SWE", "Helsinki, FIN", "Praha, CZE", "Moscow, RUS", "Bern, che", "Trencin, SVK,",
+            "  Calgary, AB, Can", "Unknown"
+    };
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private String[] birthplaces;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        birthplaces = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            birthplaces[i] = PLACES[random.nextInt(PLACES.length)];
+        }
+    }
+
+    /**
+     * What the roster test did: one stream pass per country with the split-based check.
+     */
+    @Benchmark
+    public long legacyCanMinusUsa() {
+        long can = 0;
+        long usa = 0;
+        for (String bp : birthplaces) if (legacyEndsWithCountryCode(bp, "CAN")) can++;
+        for (String bp : birthplaces) if (legacyEndsWithCountryCode(bp, "USA")) usa++;
+        return can - usa;
+    }
+
+    @Benchmark
+    public long parserCanMinusUsa() {
+        long can = 0;
+        long usa = 0;
+        for (String bp : birthplaces) {
+            if (BirthplaceParser.endsWithCountryCode(bp, "CAN")) can++;
+            else if (BirthplaceParser.endsWithCountryCode(bp, "USA")) usa++;
+        }
+        return can - usa;
+    }
+
+    /**
+     * Every country, split-based, into a boxed map.
+     */
+    @Benchmark
+    public Map<String, Long> legacyAllCountries() {
+        Map<String, Long> counts = new HashMap<>();
+        for (String bp : birthplaces) {
+            String code = legacyCountryCode(bp);
+            if (code != null) counts.merge(code, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public CountryHistogram histogramAllCountries() {
+        CountryHistogram histogram = new CountryHistogram();
+        for (String bp : birthplaces) histogram.add(bp);
+        return histogram;
+    }
+
+    static boolean legacyEndsWithCountryCode(String birthPlace, String countryCode) {
+        if (birthPlace == null || countryCode == null) return false;
+
+        String s = birthPlace.trim();
+        String code = countryCode.trim().toUpperCase();
+        if (s.isEmpty() || code.isEmpty()) return false;
+
+        String[] parts = s.split(",");
+        if (parts.length == 0) return false;
+
+        String last = parts[parts.length - 1].trim().toUpperCase();
+        return last.equals(code);
+    }
+
+    static String legacyCountryCode(String birthPlace) {
+        String[] parts = birthPlace.trim().split(",");
+        if (parts.length == 0) return null;
+
+        String last = parts[parts.length - 1].trim().toUpperCase();
+        return last.isEmpty() ? null : last;
+    }
+}
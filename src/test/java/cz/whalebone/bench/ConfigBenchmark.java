@@ -0,0 +1,72 @@
+package cz.whalebone.bench;
+
+import cz.whalebone.config.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Config} accessors, which tests and helpers call per test or per request and which read the immutable
+ * snapshot, against building the snapshot (resolving, parsing and validating every setting), which happens once
+ * per suite.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+
+    private static final String OVERRIDDEN = "ui.timeoutMs";
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty(OVERRIDDEN, "15000");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty(OVERRIDDEN);
+    }
+
+    @Benchmark
+    public String urlAccessor() {
+        return Config.apiBaseUrl();
+    }
+
+    @Benchmark
+    public String enumAccessor() {
+        return Config.apiTransport();
+    }
+
+    /**
+     * Overridden by a system property when the snapshot was built.
+     */
+    @Benchmark
+    public int intAccessor() {
+        return Config.uiTimeoutMs();
+    }
+
+    @Benchmark
+    public boolean booleanAccessor() {
+        return Config.apiCacheEnabled();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Config buildSnapshot() {
+        return Config.build();
+    }
+}
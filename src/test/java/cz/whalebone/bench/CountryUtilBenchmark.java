@@ -0,0 +1,41 @@
+package cz.whalebone.bench;
+
+import cz.whalebone.util.CountryUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the {@link CountryUtil} checks the roster tests run on every scraped birthplace
+ * (see {@link BirthplaceBenchmark} for whole-roster counting).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountryUtilBenchmark {
+
+    @Param({"Montreal, QC, CAN", "  Boston, MA, usa ", "Trencin, SVK,,", "Unknown"})
+    public String birthplace;
+
+    @Benchmark
+    public boolean endsWithCountryCode() {
+        return CountryUtil.endsWithCountryCode(birthplace, "CAN");
+    }
+
+    @Benchmark
+    public String countryCode() {
+        return CountryUtil.countryCode(birthplace);
+    }
+}
@@ -0,0 +1,35 @@
+package cz.whalebone.bench;
+
+import cz.whalebone.pages.nhl.RosterPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RosterPage#buildRosterUrl(String)}, called once per team by the league scrape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RosterUrlBenchmark {
+
+    @Param({"https://www.nhl.com/canadiens", "https://www.nhl.com/canadiens/"})
+    public String baseUrl;
+
+    @Benchmark
+    public String buildRosterUrl() {
+        return RosterPage.buildRosterUrl(baseUrl);
+    }
+}
@@ -0,0 +1,82 @@
+package cz.whalebone.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import cz.whalebone.api.client.JsonSchemas;
+import cz.whalebone.api.client.TeamsJson;
+import cz.whalebone.api.model.TeamsResponse;
+import cz.whalebone.api.stub.SyntheticLeague;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding and validating an {@code /api/teams} body: Jackson binding of {@link TeamsResponse} (buffered and
+ * streamed) and JSON schema validation against {@code teams.schema.json}. Payloads are the 32-team stub fixture
+ * plus {@code syntheticTeams} generated teams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamsJsonBenchmark {
+
+    @Param({"0", "1000"})
+    public int syntheticTeams;
+
+    private byte[] body;
+    private JsonNode tree;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        body = TeamsJson.write(SyntheticLeague.generate(syntheticTeams, 42));
+        tree = JsonSchemas.tree(body);
+        ProcessingReport report = JsonSchemas.validate(JsonSchemas.TEAMS, tree);
+        if (!report.isSuccess()) {
+            throw new IllegalStateException("Benchmark payload does not match the schema:\n" + report);
+        }
+    }
+
+    @Benchmark
+    public TeamsResponse bind() {
+        return TeamsJson.read(body);
+    }
+
+    @Benchmark
+    public long bindStreaming(Blackhole bh) {
+        return TeamsJson.forEachTeam(new ByteArrayInputStream(body), bh::consume);
+    }
+
+    /**
+     * Schema validation of an already parsed tree (compiled schema is cached).
+     */
+    @Benchmark
+    public boolean validateSchema() {
+        return JsonSchemas.validate(JsonSchemas.TEAMS, tree).isSuccess();
+    }
+
+    /**
+     * What the contract test pays per response: parse once, validate, bind the same tree.
+     */
+    @Benchmark
+    public TeamsResponse parseValidateBind() {
+        JsonNode parsed = JsonSchemas.tree(body);
+        JsonSchemas.assertMatches(JsonSchemas.TEAMS, parsed);
+        return TeamsJson.read(parsed);
+    }
+}
@@ -1,110 +1,666 @@
 package cz.whalebone.config;
 
+import cz.whalebone.util.PerfBudgets;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.Set;
-
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Suite configuration as an immutable, typed snapshot.
+ *
+ * <p>Every value is resolved, parsed and validated once, when the snapshot is built (at suite start by
+ * {@link #init()}, or on first access), and the static accessors just return fields. Building reports every
+ * invalid or missing value, and every key in a properties file that no setting reads (usually a typo), in a
+ * single {@link IllegalStateException} before any browser is launched.</p>
+ *
+ * <p>Resolution order, highest first: {@code -Dkey=value} &gt; environment variable {@code KEY_NAME} &gt;
+ * {@code config-<env>.properties} &gt; {@code config.properties}, where {@code <env>} is {@code config.env}
+ * (itself resolvable the same way, e.g. {@code -Dconfig.env=ci} or {@code CONFIG_ENV=ci}).</p>
+ */
 public final class Config {
 
-    private static final Properties PROPS = load("config.properties");
-    private static final Set<String> BROWSERS = Set.of("chromium", "firefox", "webkit", "safari", "chrome", "edge", "msedge");
+    private static final Logger LOG = Logger.getLogger(Config.class.getName());
+
+    private static final String BASE_FILE = "config.properties";
+    private static final String ENV_KEY = "config.env";
+    private static final String[] BROWSERS = {"chromium", "firefox", "webkit", "safari", "chrome", "edge", "msedge"};
+    private static final String[] RESOURCE_TYPES = {"document", "stylesheet", "image", "media", "font", "script",
+            "texttrack", "xhr", "fetch", "eventsource", "websocket", "manifest", "other"};
+
+    private static volatile Config current;
+
+    private final String apiBaseUrl;
+    private final int apiRetryCount;
+    private final boolean apiCacheEnabled;
+    private final int apiCacheTtlMs;
+    private final String apiTransport;
+    private final boolean apiHttp2;
+    private final boolean apiCompression;
+    private final int apiConnectTimeoutMs;
+    private final int apiRequestTimeoutMs;
+    private final String apiCapture;
+    private final int apiCaptureSampleEvery;
+    private final int apiCaptureMaxBodyKb;
+    private final int apiCaptureBufferSize;
+    private final boolean apiWarmUp;
+    private final boolean stubEnabled;
+    private final int stubPort;
+    private final int stubThreads;
+    private final String stubLatency;
+    private final int stubErrorRatePct;
+    private final int stubErrorStatus;
+    private final int stubDropRatePct;
+    private final int stubSlowDripRatePct;
+    private final int stubSlowDripBytesPerSec;
+    private final int stubSyntheticTeams;
+    private final int stubSeed;
+    private final String uiBaseUrl;
+    private final int uiTimeoutMs;
+    private final String uiBrowser;
+    private final String uiBrowserChannel;
+    private final boolean uiHeaded;
+    private final int uiSlowMoMs;
+    private final int uiViewportWidth;
+    private final int uiViewportHeight;
+    private final boolean uiBrowserPooled;
+    private final int uiBrowserRecycleAfter;
+    private final int uiRetryCount;
+    private final String artifactsDir;
+    private final int artifactsWorkers;
+    private final int artifactsQueueSize;
+    private final int artifactsMaxMb;
+    private final int artifactsFlushTimeoutSec;
+    private final int artifactsRetentionKeepRuns;
+    private final int artifactsRetentionMaxAgeDays;
+    private final int artifactsRetentionMaxTotalMb;
+    private final boolean uiTraceOnFailure;
+    private final boolean uiVideoOnFailure;
+    private final String uiVideoMode;
+    private final int uiScreencastSeconds;
+    private final int uiScreencastFps;
+    private final int uiScreencastMaxWidth;
+    private final boolean uiScreenshotOnFailure;
+    private final String uiCapturePolicy;
+    private final String uiBlockPreset;
+    private final List<String> uiBlockResourceTypes;
+    private final List<String> uiBlockUrlPatterns;
+    private final boolean uiBlockThirdParty;
+    private final List<String> uiBlockAllowHosts;
+    private final String uiBlockAction;
+    private final String uiHarMode;
+    private final String uiHarDir;
+    private final String uiHarNotFound;
+    private final boolean uiPerfCapture;
+    private final PerfBudgets uiPerfBudgets;
+    private final boolean uiPerfEnforceBudgets;
+    private final String loadModel;
+    private final int loadConcurrency;
+    private final int loadRatePerSec;
+    private final int loadDurationSec;
+    private final int loadWarmupSec;
+    private final int loadMaxInFlight;
+    private final int loadMaxErrorRatePct;
+    private final int loadP99BudgetMs;
+    private final String loadReportDir;
+    private final int leagueConcurrency;
+    private final int leagueSiteTimeoutMs;
+    private final int leagueTimeoutSec;
+    private final int leagueMaxFailures;
+    private final String leagueReportDir;
+    private final boolean orderLongestFirst;
+    private final String orderHistoryFile;
+
+    private Config(Source src) {
+        this.apiBaseUrl = src.baseUrl("api.baseUrl");
+        this.apiRetryCount = src.optInt("api.retry.count", 0, 10, 0);
+        this.apiCacheEnabled = src.bool("api.cache.enabled", false);
+        this.apiCacheTtlMs = src.optInt("api.cache.ttlMs", 0, 86_400_000, 60_000);
+        this.apiTransport = src.oneOf("api.transport", "restassured", "jdk", "restassured");
+        this.apiHttp2 = src.bool("api.http2", true);
+        this.apiCompression = src.bool("api.compression", true);
+        this.apiConnectTimeoutMs = src.optInt("api.connectTimeoutMs", 1, 300_000, 10_000);
+        this.apiRequestTimeoutMs = src.optInt("api.requestTimeoutMs", 1, 600_000, 30_000);
+        this.apiCapture = src.oneOf("api.capture", "always", "always", "on-failure", "sample", "off");
+        this.apiCaptureSampleEvery = src.optInt("api.capture.sampleEvery", 1, 1_000_000, 10);
+        this.apiCaptureMaxBodyKb = src.optInt("api.capture.maxBodyKb", 1, 102_400, 64);
+        this.apiCaptureBufferSize = src.optInt("api.capture.bufferSize", 1, 1_000, 20);
+        this.apiWarmUp = src.bool("api.warmUp", true);
+        this.stubEnabled = src.bool("stub.enabled", false);
+        this.stubPort = src.optInt("stub.port", 0, 65_535, 0);
+        this.stubThreads = src.optInt("stub.threads", 1, 1_024, 16);
+        this.stubLatency = src.opt("stub.latency", "none");
+        this.stubErrorRatePct = src.optInt("stub.errorRatePct", 0, 100, 0);
+        this.stubErrorStatus = src.optInt("stub.errorStatus", 400, 599, 503);
+        this.stubDropRatePct = src.optInt("stub.dropRatePct", 0, 100, 0);
+        this.stubSlowDripRatePct = src.optInt("stub.slowDripRatePct", 0, 100, 0);
+        this.stubSlowDripBytesPerSec = src.optInt("stub.slowDripBytesPerSec", 10, 100_000_000, 4_096);
+        this.stubSyntheticTeams = src.optInt("stub.syntheticTeams", 0, 1_000_000, 0);
+        this.stubSeed = src.optInt("stub.seed", Integer.MIN_VALUE, Integer.MAX_VALUE, 42);
+        this.uiBaseUrl = src.baseUrl("ui.baseUrl");
+        this.uiTimeoutMs = src.reqInt("ui.timeoutMs", 1, 300_000);
+        String browser = src.oneOf("ui.browser", "chromium", BROWSERS);
+        this.uiBrowser = switch (browser) {
+            case "chrome", "edge", "msedge" -> "chromium";
+            default -> browser;
+        };
+        this.uiBrowserChannel = switch (browser) {
+            case "chrome" -> "chrome";
+            case "edge", "msedge" -> "msedge";
+            default -> null;
+        };
+        String legacyHeaded = System.getProperty("headed"); // optional legacy flag
+        this.uiHeaded = (legacyHeaded != null && !legacyHeaded.isBlank())
+                ? src.bool("headed", Boolean.parseBoolean(legacyHeaded.trim()))
+                : src.bool("ui.headed", false);
+        this.uiSlowMoMs = src.optInt("ui.slowMoMs", 0, 60_000, 0);
+        this.uiViewportWidth = src.optInt("ui.viewport.width", 320, 8192, 1920);
+        this.uiViewportHeight = src.optInt("ui.viewport.height", 320, 8192, 1080);
+        this.uiBrowserPooled = src.bool("ui.browser.pooled", true);
+        this.uiBrowserRecycleAfter = src.optInt("ui.browser.recycleAfter", 0, 10_000, 50);
+        this.uiRetryCount = src.optInt("ui.retry.count", 0, 10, 0);
+        this.artifactsDir = src.opt("artifacts.dir", "playwright-artifacts");
+        this.artifactsWorkers = src.optInt("artifacts.workers", 1, 16, 2);
+        this.artifactsQueueSize = src.optInt("artifacts.queueSize", 1, 1_000, 16);
+        this.artifactsMaxMb = src.optInt("artifacts.maxMb", 1, 2_048, 100);
+        this.artifactsFlushTimeoutSec = src.optInt("artifacts.flushTimeoutSec", 1, 3_600, 120);
+        this.artifactsRetentionKeepRuns = src.optInt("artifacts.retention.keepRuns", 0, 10_000, 20);
+        this.artifactsRetentionMaxAgeDays = src.optInt("artifacts.retention.maxAgeDays", 0, 3_650, 14);
+        this.artifactsRetentionMaxTotalMb = src.optInt("artifacts.retention.maxTotalMb", 0, 1_048_576, 2_048);
+        this.uiTraceOnFailure = src.bool("ui.trace.onFailure", true);
+        this.uiVideoOnFailure = src.bool("ui.video.onFailure", true);
+        this.uiVideoMode = src.oneOf("ui.video.mode", "screencast", "screencast", "webm");
+        this.uiScreencastSeconds = src.optInt("ui.screencast.seconds", 1, 120, 10);
+        this.uiScreencastFps = src.optInt("ui.screencast.fps", 1, 30, 4);
+        this.uiScreencastMaxWidth = src.optInt("ui.screencast.maxWidth", 160, 8192, 960);
+        this.uiScreenshotOnFailure = src.bool("ui.screenshot.onFailure", true);
+        this.uiCapturePolicy = src.oneOf("ui.capture.policy", "on-retry", "always", "on-retry");
+        this.uiBlockPreset = src.oneOf("ui.block.preset", "none", "none", "media", "lean");
+        this.uiBlockResourceTypes = src.listOf("ui.block.resourceTypes", RESOURCE_TYPES);
+        this.uiBlockUrlPatterns = src.list("ui.block.urlPatterns");
+        this.uiBlockThirdParty = src.bool("ui.block.thirdParty", false);
+        this.uiBlockAllowHosts = src.list("ui.block.allowHosts");
+        this.uiBlockAction = src.oneOf("ui.block.action", "abort", "abort", "stub");
+        this.uiHarMode = src.oneOf("ui.har.mode", "off", "off", "record", "replay");
+        this.uiHarDir = src.opt("ui.har.dir", "src/test/resources/har");
+        this.uiHarNotFound = src.oneOf("ui.har.notFound", "fail", "fail", "passthrough", "abort");
+        this.uiPerfCapture = src.bool("ui.perf.capture", true);
+        this.uiPerfBudgets = src.parsed("ui.perf.budgets", PerfBudgets::parse, PerfBudgets.NONE);
+        this.uiPerfEnforceBudgets = src.bool("ui.perf.enforceBudgets", false);
+        this.loadModel = src.oneOf("load.model", "closed", "closed", "open");
+        this.loadConcurrency = src.optInt("load.concurrency", 1, 10_000, 8);
+        this.loadRatePerSec = src.optInt("load.ratePerSec", 0, 100_000, 20);
+        this.loadDurationSec = src.optInt("load.durationSec", 1, 86_400, 30);
+        this.loadWarmupSec = src.optInt("load.warmupSec", 0, 3_600, 5);
+        this.loadMaxInFlight = src.optInt("load.maxInFlight", 1, 100_000, 256);
+        this.loadMaxErrorRatePct = src.optInt("load.maxErrorRatePct", 0, 100, 1);
+        this.loadP99BudgetMs = src.optInt("load.p99BudgetMs", 0, 600_000, 0);
+        this.loadReportDir = src.opt("load.reportDir", "target/load-reports");
+        this.leagueConcurrency = src.optInt("league.concurrency", 1, 64, 4);
+        this.leagueSiteTimeoutMs = src.optInt("league.siteTimeoutMs", 1_000, 600_000, 30_000);
+        this.leagueTimeoutSec = src.optInt("league.timeoutSec", 1, 86_400, 600);
+        this.leagueMaxFailures = src.optInt("league.maxFailures", 0, 1_000, 2);
+        this.leagueReportDir = src.opt("league.reportDir", "target/league-reports");
+        this.orderLongestFirst = src.bool("order.longestFirst", true);
+        this.orderHistoryFile = src.opt("order.historyFile", ".test-durations.properties");
+    }
+
+    /**
+     * Builds and validates the snapshot if that has not happened yet. Called at suite start so bad values fail
+     * the run before any test work.
+     */
+    public static void init() {
+        get();
+    }
+
+    /**
+     * Builds a fresh, validated snapshot from the current system properties, environment and files without
+     * installing it.
+     *
+     * @throws IllegalStateException listing every invalid, missing or unknown setting
+     */
+    public static Config build() {
+        Source src = new Source();
+        Config config = new Config(src);
+        src.verify();
+        LOG.info("Configuration loaded from " + src.files);
+        return config;
+    }
 
-    private Config() {
+    private static Config get() {
+        Config config = current;
+        if (config == null) {
+            synchronized (Config.class) {
+                config = current;
+                if (config == null) {
+                    config = build();
+                    current = config;
+                }
+            }
+        }
+        return config;
     }
 
     // API
     public static String apiBaseUrl() {
-        return baseUrl("api.baseUrl");
+        return get().apiBaseUrl;
     }
 
     public static int apiRetryCount() {
-        return optInt("api.retry.count", 0, 10, 0);
+        return get().apiRetryCount;
+    }
+
+    public static boolean apiCacheEnabled() {
+        return get().apiCacheEnabled;
+    }
+
+    public static int apiCacheTtlMs() {
+        return get().apiCacheTtlMs;
+    }
+
+    /**
+     * HTTP backend for API clients: {@code jdk} (one shared, pooled {@code java.net.http.HttpClient})
+     * or {@code restassured} (new connection per request).
+     */
+    public static String apiTransport() {
+        return get().apiTransport;
+    }
+
+    public static boolean apiHttp2() {
+        return get().apiHttp2;
+    }
+
+    public static boolean apiCompression() {
+        return get().apiCompression;
+    }
+
+    public static int apiConnectTimeoutMs() {
+        return get().apiConnectTimeoutMs;
+    }
+
+    public static int apiRequestTimeoutMs() {
+        return get().apiRequestTimeoutMs;
+    }
+
+    /**
+     * Which API exchanges are attached to Allure: {@code always}, {@code on-failure} (buffered per test,
+     * attached only if it fails), {@code sample} (every {@code api.capture.sampleEvery}-th) or {@code off}.
+     */
+    public static String apiCapture() {
+        return get().apiCapture;
+    }
+
+    public static int apiCaptureSampleEvery() {
+        return get().apiCaptureSampleEvery;
+    }
+
+    public static int apiCaptureMaxBodyKb() {
+        return get().apiCaptureMaxBodyKb;
+    }
+
+    public static int apiCaptureBufferSize() {
+        return get().apiCaptureBufferSize;
+    }
+
+    public static boolean apiWarmUp() {
+        return get().apiWarmUp;
+    }
+
+    // API stand-in (replaces api.baseUrl when enabled)
+    public static boolean stubEnabled() {
+        return get().stubEnabled;
+    }
+
+    public static int stubPort() {
+        return get().stubPort;
+    }
+
+    public static int stubThreads() {
+        return get().stubThreads;
+    }
+
+    /**
+     * Added latency per request: {@code none}, {@code fixed:<ms>}, {@code uniform:<min>-<max>},
+     * {@code normal:<mean>,<stddev>} or {@code lognormal:<median>,<sigma>}.
+     */
+    public static String stubLatency() {
+        return get().stubLatency;
+    }
+
+    public static int stubErrorRatePct() {
+        return get().stubErrorRatePct;
+    }
+
+    public static int stubErrorStatus() {
+        return get().stubErrorStatus;
+    }
+
+    public static int stubDropRatePct() {
+        return get().stubDropRatePct;
+    }
+
+    public static int stubSlowDripRatePct() {
+        return get().stubSlowDripRatePct;
+    }
+
+    public static int stubSlowDripBytesPerSec() {
+        return get().stubSlowDripBytesPerSec;
+    }
+
+    public static int stubSyntheticTeams() {
+        return get().stubSyntheticTeams;
+    }
+
+    public static int stubSeed() {
+        return get().stubSeed;
     }
 
     // UI
     public static String uiBaseUrl() {
-        return baseUrl("ui.baseUrl");
+        return get().uiBaseUrl;
     }
 
     public static int uiTimeoutMs() {
-        return reqInt("ui.timeoutMs", 1, 300_000);
+        return get().uiTimeoutMs;
     }
 
     public static String uiBrowser() {
-        String raw = uiBrowserRaw();
-        return switch (raw) {
-            case "chrome", "edge", "msedge" -> "chromium";
-            default -> raw;
-        };
+        return get().uiBrowser;
     }
 
     public static String uiBrowserChannel() {
-        String raw = uiBrowserRaw();
-        return switch (raw) {
-            case "chrome" -> "chrome";
-            case "edge", "msedge" -> "msedge";
-            default -> null;
-        };
-    }
-
-    private static String uiBrowserRaw() {
-        String v = opt("ui.browser", "chromium")
-                .trim()
-                .toLowerCase(Locale.ROOT);
-
-        if (!BROWSERS.contains(v)) {
-            throw new IllegalStateException("ui.browser must be one of " + BROWSERS + ", got: " + v);
-        }
-        return v;
+        return get().uiBrowserChannel;
     }
 
     public static boolean uiHeaded() {
-        String legacy = System.getProperty("headed"); // optional legacy flag
-        return (legacy != null && !legacy.isBlank())
-                ? bool("headed", legacy)
-                : bool("ui.headed", opt("ui.headed", "false"));
+        return get().uiHeaded;
     }
 
     public static int uiSlowMoMs() {
-        return optInt("ui.slowMoMs", 0, 60_000, 0);
+        return get().uiSlowMoMs;
     }
 
     public static int uiViewportWidth() {
-        return optInt("ui.viewport.width", 320, 8192, 1920);
+        return get().uiViewportWidth;
     }
 
     public static int uiViewportHeight() {
-        return optInt("ui.viewport.height", 320, 8192, 1080);
+        return get().uiViewportHeight;
+    }
+
+    public static boolean uiBrowserPooled() {
+        return get().uiBrowserPooled;
+    }
+
+    public static int uiBrowserRecycleAfter() {
+        return get().uiBrowserRecycleAfter;
     }
 
     public static int uiRetryCount() {
-        return optInt("ui.retry.count", 0, 10, 0);
+        return get().uiRetryCount;
     }
 
     // Artifacts
     public static String artifactsDir() {
-        return opt("artifacts.dir", "playwright-artifacts");
+        return get().artifactsDir;
+    }
+
+    public static int artifactsWorkers() {
+        return get().artifactsWorkers;
+    }
+
+    public static int artifactsQueueSize() {
+        return get().artifactsQueueSize;
+    }
+
+    public static int artifactsMaxMb() {
+        return get().artifactsMaxMb;
+    }
+
+    public static int artifactsFlushTimeoutSec() {
+        return get().artifactsFlushTimeoutSec;
+    }
+
+    public static int artifactsRetentionKeepRuns() {
+        return get().artifactsRetentionKeepRuns;
+    }
+
+    public static int artifactsRetentionMaxAgeDays() {
+        return get().artifactsRetentionMaxAgeDays;
+    }
+
+    public static int artifactsRetentionMaxTotalMb() {
+        return get().artifactsRetentionMaxTotalMb;
     }
 
     public static boolean uiTraceOnFailure() {
-        return bool("ui.trace.onFailure", opt("ui.trace.onFailure", "true"));
+        return get().uiTraceOnFailure;
     }
 
     public static boolean uiVideoOnFailure() {
-        return bool("ui.video.onFailure", opt("ui.video.onFailure", "true"));
+        return get().uiVideoOnFailure;
+    }
+
+    /**
+     * How failure video is recorded: {@code screencast} (low-fps ring buffer, Chromium only,
+     * other browsers fall back to WebM) or {@code webm} (full Playwright video recording).
+     */
+    public static String uiVideoMode() {
+        return get().uiVideoMode;
+    }
+
+    public static int uiScreencastSeconds() {
+        return get().uiScreencastSeconds;
+    }
+
+    public static int uiScreencastFps() {
+        return get().uiScreencastFps;
+    }
+
+    public static int uiScreencastMaxWidth() {
+        return get().uiScreencastMaxWidth;
     }
 
     public static boolean uiScreenshotOnFailure() {
-        return bool("ui.screenshot.onFailure", opt("ui.screenshot.onFailure", "true"));
+        return get().uiScreenshotOnFailure;
+    }
+
+    /**
+     * When heavy artifacts (trace, video) are recorded: {@code always} or {@code on-retry}
+     * (only for retry attempts of a failed test).
+     */
+    public static String uiCapturePolicy() {
+        return get().uiCapturePolicy;
+    }
+
+    // UI network blocking (for classes without @BlockResources)
+    /**
+     * Base set of blocked requests: {@code none}, {@code media} (images, media, fonts) or {@code lean}
+     * ({@code media} plus third-party requests); {@code ui.block.*} lists add to it.
+     */
+    public static String uiBlockPreset() {
+        return get().uiBlockPreset;
+    }
+
+    public static List<String> uiBlockResourceTypes() {
+        return get().uiBlockResourceTypes;
+    }
+
+    /**
+     * URL globs ({@code **} any characters, {@code *} any but {@code /}) to block.
+     */
+    public static List<String> uiBlockUrlPatterns() {
+        return get().uiBlockUrlPatterns;
+    }
+
+    public static boolean uiBlockThirdParty() {
+        return get().uiBlockThirdParty;
+    }
+
+    /**
+     * Hosts (and their subdomains) never treated as third-party, e.g. a site's own CDN or data API.
+     */
+    public static List<String> uiBlockAllowHosts() {
+        return get().uiBlockAllowHosts;
+    }
+
+    /**
+     * {@code abort} fails blocked requests; {@code stub} answers them with an empty 200.
+     */
+    public static String uiBlockAction() {
+        return get().uiBlockAction;
+    }
+
+    // UI HAR record/replay
+    /**
+     * {@code off} (live network), {@code record} (live network, traffic saved per test) or {@code replay}
+     * (responses served from the recorded HARs).
+     */
+    public static String uiHarMode() {
+        return get().uiHarMode;
+    }
+
+    /**
+     * Root of the recordings: {@code <dir>/<TestClass>/<testMethod>.har}.
+     */
+    public static String uiHarDir() {
+        return get().uiHarDir;
+    }
+
+    /**
+     * What replay does with unrecorded requests: {@code fail} (abort and fail the test), {@code passthrough}
+     * (live network) or {@code abort}.
+     */
+    public static String uiHarNotFound() {
+        return get().uiHarNotFound;
+    }
+
+    // UI page performance
+    /**
+     * Whether {@code BasePage.navigateTo} reads Navigation/Paint Timing (attached if the test fails or a budget is
+     * exceeded).
+     */
+    public static boolean uiPerfCapture() {
+        return get().uiPerfCapture;
+    }
+
+    /**
+     * Per-URL limits checked after each captured navigation (see {@link PerfBudgets}).
+     */
+    public static PerfBudgets uiPerfBudgets() {
+        return get().uiPerfBudgets;
+    }
+
+    /**
+     * Whether a navigation over its budget fails the test, rather than only being attached and logged.
+     */
+    public static boolean uiPerfEnforceBudgets() {
+        return get().uiPerfEnforceBudgets;
+    }
+
+    // Load
+    /**
+     * Workload shape for the load suite: {@code closed} (fixed concurrency, each worker sends its next
+     * request when the previous one completes) or {@code open} (fixed arrival rate, independent of latency).
+     */
+    public static String loadModel() {
+        return get().loadModel;
+    }
+
+    public static int loadConcurrency() {
+        return get().loadConcurrency;
+    }
+
+    public static int loadRatePerSec() {
+        return get().loadRatePerSec;
+    }
+
+    public static int loadDurationSec() {
+        return get().loadDurationSec;
+    }
+
+    public static int loadWarmupSec() {
+        return get().loadWarmupSec;
+    }
+
+    public static int loadMaxInFlight() {
+        return get().loadMaxInFlight;
+    }
+
+    public static int loadMaxErrorRatePct() {
+        return get().loadMaxErrorRatePct;
+    }
+
+    public static int loadP99BudgetMs() {
+        return get().loadP99BudgetMs;
+    }
+
+    public static String loadReportDir() {
+        return get().loadReportDir;
+    }
+
+    // League scrape
+    /**
+     * Rosters scraped at once by the league scrape, each on its own worker thread and pooled browser.
+     */
+    public static int leagueConcurrency() {
+        return get().leagueConcurrency;
+    }
+
+    /**
+     * Timeout for each navigation and wait on one team's site.
+     */
+    public static int leagueSiteTimeoutMs() {
+        return get().leagueSiteTimeoutMs;
+    }
+
+    /**
+     * Deadline for the whole league scrape; teams not finished by then count as failed.
+     */
+    public static int leagueTimeoutSec() {
+        return get().leagueTimeoutSec;
+    }
+
+    public static int leagueMaxFailures() {
+        return get().leagueMaxFailures;
+    }
+
+    public static String leagueReportDir() {
+        return get().leagueReportDir;
+    }
+
+    // Test ordering
+    /**
+     * Hand test methods to the workers longest first, by their durations in previous runs.
+     */
+    public static boolean orderLongestFirst() {
+        return get().orderLongestFirst;
     }
 
-    private static Properties load(String name) {
+    /**
+     * Local (git-ignored) file keeping the smoothed duration of each test method across runs.
+     */
+    public static String orderHistoryFile() {
+        return get().orderHistoryFile;
+    }
+
+    private static Properties load(String name, boolean required) {
         try (InputStream is = Config.class.getClassLoader().getResourceAsStream(name)) {
-            if (is == null) throw new IllegalStateException(name + " not found on classpath");
+            if (is == null) {
+                if (required) throw new IllegalStateException(name + " not found on classpath");
+                return null;
+            }
             Properties p = new Properties();
             p.load(is);
             return p;
@@ -113,66 +669,185 @@ public final class Config {
         }
     }
 
-    private static String baseUrl(String key) {
-        String raw = req(key).trim();
-        try {
-            URI uri = new URI(raw);
-            if (uri.getScheme() == null || uri.getHost() == null) {
-                throw new IllegalStateException(key + " must be absolute URL, got: " + raw);
+    /**
+     * Layered property lookup for one snapshot build. Parse helpers record failures instead of throwing, so
+     * {@link #verify()} can report them all at once.
+     */
+    private static final class Source {
+
+        private final Properties base = load(BASE_FILE, true);
+        private final Properties profile;
+        private final List<String> files = new ArrayList<>(List.of(BASE_FILE));
+        private final Set<String> read = new HashSet<>();
+        private final Set<String> errors = new LinkedHashSet<>();
+
+        private Source() {
+            String env = opt(ENV_KEY, null);
+            Properties p = null;
+            if (env != null) {
+                String file = "config-" + env.toLowerCase(Locale.ROOT) + ".properties";
+                p = load(file, false);
+                if (p == null) errors.add(ENV_KEY + "=" + env + " but " + file + " not found on classpath");
+                else files.add(file);
             }
-        } catch (URISyntaxException e) {
-            throw new IllegalStateException(key + " must be valid URL, got: " + raw, e);
+            this.profile = p;
         }
-        return raw.endsWith("/") ? raw.substring(0, raw.length() - 1) : raw;
-    }
 
-    private static String req(String key) {
-        String v = resolve(key);
-        if (v == null || v.isBlank()) throw new IllegalStateException("Missing required property: " + key);
-        return v;
-    }
+        private void verify() {
+            unknownKeys(base, BASE_FILE);
+            if (profile != null) unknownKeys(profile, files.get(1));
+            if (!errors.isEmpty()) {
+                throw new IllegalStateException("Invalid configuration (" + String.join(" + ", files) + "):\n  - "
+                        + String.join("\n  - ", errors));
+            }
+        }
 
-    private static String opt(String key, String def) {
-        String v = resolve(key);
-        return (v == null || v.isBlank()) ? def : v.trim();
-    }
+        private void unknownKeys(Properties props, String file) {
+            for (String key : props.stringPropertyNames()) {
+                if (!read.contains(key)) errors.add(key + " in " + file + " is not a known setting");
+            }
+        }
 
-    private static int reqInt(String key, int min, int max) {
-        return parseInt(key, req(key), min, max);
-    }
+        String baseUrl(String key) {
+            return attempt(() -> {
+                String raw = require(key).trim();
+                try {
+                    URI uri = new URI(raw);
+                    if (uri.getScheme() == null || uri.getHost() == null) {
+                        throw new IllegalStateException(key + " must be absolute URL, got: " + raw);
+                    }
+                } catch (URISyntaxException e) {
+                    throw new IllegalStateException(key + " must be valid URL, got: " + raw, e);
+                }
+                return raw.endsWith("/") ? raw.substring(0, raw.length() - 1) : raw;
+            }, null);
+        }
 
-    private static int optInt(String key, int min, int max, int def) {
-        String raw = resolve(key);
-        return (raw == null || raw.isBlank()) ? def : parseInt(key, raw.trim(), min, max);
-    }
+        String opt(String key, String def) {
+            String v = resolve(key);
+            return (v == null || v.isBlank()) ? def : v.trim();
+        }
+
+        int reqInt(String key, int min, int max) {
+            return attempt(() -> parseInt(key, require(key).trim(), min, max), 0);
+        }
+
+        int optInt(String key, int min, int max, int def) {
+            return attempt(() -> {
+                String raw = resolve(key);
+                return (raw == null || raw.isBlank()) ? def : parseInt(key, raw.trim(), min, max);
+            }, def);
+        }
+
+        boolean bool(String key, boolean def) {
+            return attempt(() -> {
+                String raw = resolve(key);
+                if (raw == null || raw.isBlank()) return def;
+                String v = raw.trim().toLowerCase(Locale.ROOT);
+                if (!v.equals("true") && !v.equals("false"))
+                    throw new IllegalStateException(key + " must be true/false, got: " + raw);
+                return Boolean.parseBoolean(v);
+            }, def);
+        }
+
+        /**
+         * Lower-cased value, which must be one of {@code allowed}.
+         */
+        String oneOf(String key, String def, String... allowed) {
+            return attempt(() -> {
+                String v = opt(key, def).toLowerCase(Locale.ROOT);
+                if (!List.of(allowed).contains(v)) {
+                    throw new IllegalStateException(key + " must be " + String.join("/", allowed) + ", got: " + v);
+                }
+                return v;
+            }, def);
+        }
+
+        /**
+         * Comma-separated values, trimmed, blanks dropped; empty if unset.
+         */
+        List<String> list(String key) {
+            String raw = opt(key, "");
+            List<String> out = new ArrayList<>();
+            for (String part : raw.split(",")) {
+                if (!part.isBlank()) out.add(part.trim());
+            }
+            return List.copyOf(out);
+        }
+
+        /**
+         * Value (empty if unset) turned into {@code T} by {@code parser}, which rejects it with an
+         * {@link IllegalArgumentException}.
+         */
+        <T> T parsed(String key, Function<String, T> parser, T def) {
+            return attempt(() -> {
+                try {
+                    return parser.apply(opt(key, ""));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalStateException(key + ": " + e.getMessage(), e);
+                }
+            }, def);
+        }
 
-    private static int parseInt(String key, String raw, int min, int max) {
-        try {
-            int v = Integer.parseInt(raw);
-            if (v < min || v > max)
-                throw new IllegalStateException(key + " out of range [" + min + "," + max + "]: " + v);
+        /**
+         * Lower-cased {@link #list}, each value one of {@code allowed}.
+         */
+        List<String> listOf(String key, String... allowed) {
+            return attempt(() -> {
+                List<String> out = new ArrayList<>();
+                for (String v : list(key)) {
+                    String value = v.toLowerCase(Locale.ROOT);
+                    if (!List.of(allowed).contains(value)) {
+                        throw new IllegalStateException(key + " values must be " + String.join("/", allowed)
+                                + ", got: " + v);
+                    }
+                    out.add(value);
+                }
+                return List.copyOf(out);
+            }, List.of());
+        }
+
+        private String require(String key) {
+            String v = resolve(key);
+            if (v == null || v.isBlank()) throw new IllegalStateException("Missing required property: " + key);
             return v;
-        } catch (NumberFormatException e) {
-            throw new IllegalStateException(key + " must be integer, got: " + raw, e);
         }
-    }
 
-    private static boolean bool(String key, String raw) {
-        String v = raw.trim().toLowerCase(Locale.ROOT);
-        if (!v.equals("true") && !v.equals("false"))
-            throw new IllegalStateException(key + " must be true/false, got: " + raw);
-        return Boolean.parseBoolean(v);
-    }
+        private <T> T attempt(Supplier<T> parse, T fallback) {
+            try {
+                return parse.get();
+            } catch (IllegalStateException e) {
+                errors.add(e.getMessage());
+                return fallback;
+            }
+        }
 
-    // -Dkey=value > ENV KEY > config.properties
-    private static String resolve(String key) {
-        String sys = System.getProperty(key);
-        if (sys != null && !sys.isBlank()) return sys;
+        private static int parseInt(String key, String raw, int min, int max) {
+            try {
+                int v = Integer.parseInt(raw);
+                if (v < min || v > max)
+                    throw new IllegalStateException(key + " out of range [" + min + "," + max + "]: " + v);
+                return v;
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException(key + " must be integer, got: " + raw, e);
+            }
+        }
+
+        // -Dkey=value > ENV KEY > config-<env>.properties > config.properties
+        private String resolve(String key) {
+            read.add(key);
 
-        String envKey = key.toUpperCase(Locale.ROOT).replace('.', '_');
-        String env = System.getenv(envKey);
-        if (env != null && !env.isBlank()) return env;
+            String sys = System.getProperty(key);
+            if (sys != null && !sys.isBlank()) return sys;
 
-        return PROPS.getProperty(key);
+            String envKey = key.toUpperCase(Locale.ROOT).replace('.', '_');
+            String env = System.getenv(envKey);
+            if (env != null && !env.isBlank()) return env;
+
+            String fromProfile = profile != null ? profile.getProperty(key) : null;
+            if (fromProfile != null && !fromProfile.isBlank()) return fromProfile;
+
+            return base.getProperty(key);
+        }
     }
-}
\ No newline at end of file
+}
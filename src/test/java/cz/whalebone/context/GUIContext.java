@@ -7,6 +7,7 @@ import cz.whalebone.pages.playground.LoadDelayPage;
 import cz.whalebone.pages.playground.PlaygroundHomePage;
 import cz.whalebone.pages.playground.ProgressBarPage;
 import cz.whalebone.pages.playground.SampleAppPage;
+import cz.whalebone.reporting.StepProxies;
 
 /**
  * GUIContext holds Playwright browser objects and lazily provides Page Objects.
@@ -14,6 +15,8 @@ import cz.whalebone.pages.playground.SampleAppPage;
  * <p>Page Objects are created on first access rather than eagerly in the constructor.
  * This means a test that only uses {@link SampleAppPage} pays no cost for constructing
  * {@link RosterPage}, and adding new pages does not require touching this class.</p>
+ *
+ * <p>They are created through {@link StepProxies}, so their {@code @Step} methods show up in the report.</p>
  */
 public class GUIContext {
 
@@ -32,27 +35,27 @@ public class GUIContext {
     }
 
     public PlaygroundHomePage playgroundHome() {
-        if (playgroundHome == null) playgroundHome = new PlaygroundHomePage(context, page);
+        if (playgroundHome == null) playgroundHome = StepProxies.create(PlaygroundHomePage.class, context, page);
         return playgroundHome;
     }
 
     public SampleAppPage sampleApp() {
-        if (sampleApp == null) sampleApp = new SampleAppPage(context, page);
+        if (sampleApp == null) sampleApp = StepProxies.create(SampleAppPage.class, context, page);
         return sampleApp;
     }
 
     public LoadDelayPage loadDelay() {
-        if (loadDelay == null) loadDelay = new LoadDelayPage(context, page);
+        if (loadDelay == null) loadDelay = StepProxies.create(LoadDelayPage.class, context, page);
         return loadDelay;
     }
 
     public ProgressBarPage progressBar() {
-        if (progressBar == null) progressBar = new ProgressBarPage(context, page);
+        if (progressBar == null) progressBar = StepProxies.create(ProgressBarPage.class, context, page);
         return progressBar;
     }
 
     public RosterPage rosterPage() {
-        if (rosterPage == null) rosterPage = new RosterPage(context, page);
+        if (rosterPage == null) rosterPage = StepProxies.create(RosterPage.class, context, page);
         return rosterPage;
     }
 }
@@ -1,11 +1,61 @@
 package cz.whalebone.pages;
 
 import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import cz.whalebone.config.Config;
+import cz.whalebone.reporting.ArtifactPipeline;
+import cz.whalebone.reporting.NavigationTimings;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Step;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 public abstract class BasePage {
 
+    private static final Logger LOG = Logger.getLogger(BasePage.class.getName());
+
+    /**
+     * Resolves once the watched value has not changed for {@code o.stableForMs}, or after {@code o.timeoutMs}.
+     * A MutationObserver re-arms the quiet-period timer on every real change, so nothing polls and the promise
+     * settles as soon as the quiet period ends.
+     */
+    private static final String STABLE_JS = """
+            (el, o) => new Promise(resolve => {
+              const start = performance.now();
+              const read = () => o.attribute ? el.getAttribute(o.attribute) : el.textContent;
+              let value = read(), changes = 0, quiet;
+              const finish = stable => {
+                observer.disconnect();
+                clearTimeout(quiet);
+                clearTimeout(limit);
+                resolve({ stable, value, changes, elapsedMs: Math.round(performance.now() - start) });
+              };
+              const arm = () => {
+                clearTimeout(quiet);
+                quiet = setTimeout(() => finish(true), o.stableForMs);
+              };
+              const observer = new MutationObserver(() => {
+                const now = read();
+                if (now !== value) {
+                  value = now;
+                  changes++;
+                  arm();
+                }
+              });
+              observer.observe(el, o.attribute
+                  ? { attributes: true, attributeFilter: [o.attribute] }
+                  : { characterData: true, childList: true, subtree: true });
+              const limit = setTimeout(() => finish(false), o.timeoutMs);
+              arm();
+            })
+            """;
+
     protected final BrowserContext context;
     protected final Page page;
 
@@ -14,8 +64,75 @@ public abstract class BasePage {
         this.page = page;
     }
 
+    /**
+     * Outcome of {@link #waitUntilStable}.
+     *
+     * @param value     the settled attribute value or text content
+     * @param changes   how many times it changed during the wait
+     * @param elapsedMs from the start of observation until the quiet period ended
+     */
+    public record Settled(String value, int changes, long elapsedMs) {
+    }
+
+    /**
+     * Navigates and, with {@code ui.perf.capture=true} inside a running test, reads the browser's
+     * {@link NavigationTiming}. It is attached only if the test fails (see {@link NavigationTimings}) or the
+     * navigation exceeds {@code ui.perf.budgets}.
+     *
+     * @throws AssertionError if a metric exceeds the budget for the URL the page ended up on and
+     *                        {@code ui.perf.enforceBudgets=true}
+     */
     @Step("Navigate to {url}")
     protected void navigateTo(String url) {
         page.navigate(url);
+        if (!Config.uiPerfCapture() || Allure.getLifecycle().getCurrentTestCaseOrStep().isEmpty()) return;
+
+        NavigationTiming timing;
+        try {
+            timing = NavigationTiming.capture(page);
+        } catch (PlaywrightException e) {
+            // e.g. "Execution context was destroyed" when the page redirects; timing is diagnostics only
+            LOG.log(Level.FINE, "Could not read navigation timing of " + url, e);
+            return;
+        }
+        List<String> violations = Config.uiPerfBudgets().violations(timing.url(), timing.metrics());
+        if (violations.isEmpty()) {
+            NavigationTimings.buffer(timing.summary());
+            return;
+        }
+
+        String message = "Performance budget exceeded for " + timing.url() + ": " + String.join(", ", violations);
+        ArtifactPipeline.get().attachText("Navigation timing (over budget)", "text/plain", ".txt",
+                timing.summary() + "\n" + message + "\n");
+        if (Config.uiPerfEnforceBudgets()) throw new AssertionError(message);
+        LOG.warning(message);
+    }
+
+    /**
+     * Waits in the browser until {@code attribute} of {@code element} (its text content when {@code attribute} is
+     * {@code null}) has not changed for {@code stableForMs} consecutive milliseconds, or throws if
+     * {@code timeoutMs} elapses first. The element must already be attached.
+     *
+     * <p>The whole wait is one evaluation: no driver round-trip per check and no polling lag, so it returns as
+     * soon as the quiet period is over. The settle time is added to the report as a step.</p>
+     */
+    protected Settled waitUntilStable(Locator element, String attribute, long stableForMs, long timeoutMs) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("attribute", attribute);
+        args.put("stableForMs", stableForMs);
+        args.put("timeoutMs", timeoutMs);
+
+        Map<?, ?> r = (Map<?, ?>) element.evaluate(STABLE_JS, args);
+        Object value = r.get("value");
+        Settled settled = new Settled(value != null ? value.toString() : null,
+                ((Number) r.get("changes")).intValue(), ((Number) r.get("elapsedMs")).longValue());
+
+        if (!Boolean.TRUE.equals(r.get("stable"))) {
+            throw new AssertionError((attribute != null ? attribute : "Text") + " did not stabilize within "
+                    + timeoutMs + "ms (" + settled.changes() + " changes). Last value: " + settled.value());
+        }
+        Allure.step("Settled at '" + settled.value() + "' after " + settled.elapsedMs() + " ms ("
+                + settled.changes() + " changes)");
+        return settled;
     }
 }
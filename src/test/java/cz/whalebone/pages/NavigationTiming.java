@@ -0,0 +1,111 @@
+package cz.whalebone.pages;
+
+import com.microsoft.playwright.Page;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Navigation and Paint Timing of the page's current document, as measured by the browser (no driver overhead).
+ *
+ * <p>Times are milliseconds from the start of the navigation; {@code null} when the browser did not report the
+ * metric (e.g. LCP outside Chromium, or {@code load} still running). {@code transferSize} covers the document,
+ * {@code totalTransferSize} the document plus every resource loaded so far; cross-origin resources without
+ * {@code Timing-Allow-Origin} report 0 bytes, and responses served from cache or a HAR replay may too.</p>
+ */
+public record NavigationTiming(String url,
+                               Double ttfbMs,
+                               Double domContentLoadedMs,
+                               Double loadMs,
+                               Double fcpMs,
+                               Double lcpMs,
+                               Long transferSize,
+                               Long totalTransferSize) {
+
+    /**
+     * Reads everything in one evaluation. LCP is only exposed to observers; with {@code buffered: true} the entries
+     * recorded so far are in the observer's buffer right after {@code observe()}, so {@code takeRecords()} returns
+     * them synchronously.
+     */
+    private static final String CAPTURE_JS = """
+            () => {
+              const nav = performance.getEntriesByType('navigation')[0];
+              const ms = v => (typeof v === 'number' && v > 0) ? v : null;
+              const fcp = performance.getEntriesByName('first-contentful-paint')[0];
+              let lcp = null;
+              if ((PerformanceObserver.supportedEntryTypes || []).includes('largest-contentful-paint')) {
+                const po = new PerformanceObserver(() => {});
+                po.observe({ type: 'largest-contentful-paint', buffered: true });
+                const entries = po.takeRecords();
+                po.disconnect();
+                if (entries.length) lcp = entries[entries.length - 1].startTime;
+              }
+              const resources = performance.getEntriesByType('resource')
+                  .reduce((sum, r) => sum + (r.transferSize || 0), 0);
+              return {
+                url: location.href,
+                ttfb: nav ? ms(nav.responseStart - nav.startTime) : null,
+                dcl: nav ? ms(nav.domContentLoadedEventEnd) : null,
+                load: nav ? ms(nav.loadEventEnd) : null,
+                fcp: fcp ? fcp.startTime : null,
+                lcp: lcp,
+                transfer: nav ? nav.transferSize : null,
+                total: (nav ? nav.transferSize : 0) + resources
+              };
+            }
+            """;
+
+    public static NavigationTiming capture(Page page) {
+        Map<?, ?> r = (Map<?, ?>) page.evaluate(CAPTURE_JS);
+        return new NavigationTiming(String.valueOf(r.get("url")),
+                number(r.get("ttfb")), number(r.get("dcl")), number(r.get("load")),
+                number(r.get("fcp")), number(r.get("lcp")),
+                bytes(r.get("transfer")), bytes(r.get("total")));
+    }
+
+    /**
+     * Metric values by {@link cz.whalebone.util.PerfBudgets} name, skipping the ones not reported.
+     */
+    public Map<String, Double> metrics() {
+        Map<String, Double> out = new LinkedHashMap<>();
+        put(out, "ttfb", ttfbMs);
+        put(out, "dcl", domContentLoadedMs);
+        put(out, "load", loadMs);
+        put(out, "fcp", fcpMs);
+        put(out, "lcp", lcpMs);
+        put(out, "transferKb", totalTransferSize != null ? totalTransferSize / 1024.0 : null);
+        return out;
+    }
+
+    public String summary() {
+        return "URL:          " + url + "\n"
+                + "TTFB:         " + ms(ttfbMs) + "\n"
+                + "DCL:          " + ms(domContentLoadedMs) + "\n"
+                + "Load:         " + ms(loadMs) + "\n"
+                + "FCP:          " + ms(fcpMs) + "\n"
+                + "LCP:          " + ms(lcpMs) + "\n"
+                + "Document:     " + kb(transferSize) + "\n"
+                + "Transferred:  " + kb(totalTransferSize) + " (document + resources so far)\n";
+    }
+
+    private static void put(Map<String, Double> out, String name, Double value) {
+        if (value != null) out.put(name, value);
+    }
+
+    private static Double number(Object v) {
+        return v instanceof Number n ? n.doubleValue() : null;
+    }
+
+    private static Long bytes(Object v) {
+        return v instanceof Number n ? n.longValue() : null;
+    }
+
+    private static String ms(Double v) {
+        return v != null ? String.format(Locale.ROOT, "%.1f ms", v) : "-";
+    }
+
+    private static String kb(Long v) {
+        return v != null ? String.format(Locale.ROOT, "%.1f KB", v / 1024.0) : "-";
+    }
+}
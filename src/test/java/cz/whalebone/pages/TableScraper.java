@@ -0,0 +1,411 @@
+package cz.whalebone.pages;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads HTML (or ARIA) tables row by row, addressing cells by header name.
+ *
+ * <p>Rows are pulled in batches, one page evaluation per batch. After a batch the scraper can scroll the
+ * table's scroll container (for virtualized tables that only render visible rows) and, once scrolling is
+ * exhausted, click a "next page" control. Rows already seen are skipped using a bounded window of row keys
+ * ({@code data-row-key} / {@code aria-rowindex} / {@code data-index}), so memory stays proportional to one
+ * batch plus the window, not to the table size. Rows without a key are identified by their element and
+ * text instead: a row still rendered from the previous batch is skipped, while identical rows in separate
+ * elements are all returned.</p>
+ *
+ * <p>{@link #stream()} is lazy: short-circuiting operations ({@code anyMatch}, {@code takeWhile},
+ * {@code limit}) stop scrolling and paging as soon as they are satisfied. {@link #forEach(Predicate)} does
+ * the same with a visitor that returns {@code false} to stop.</p>
+ *
+ * <pre>{@code
+ * new TableScraper(page, "table", new TableScraper.Options().setScroll(true))
+ *         .stream()
+ *         .map(row -> row.get("Birthplace"))
+ *         ...
+ * }</pre>
+ */
+public final class TableScraper {
+
+    private static final String EXTRACT_JS = """
+            o => {
+              const out = [];
+              const ids = (window.__tableScraperRows ??= { elements: new WeakMap(), next: 0 });
+              const handle = tr => {
+                let id = ids.elements.get(tr);
+                if (id === undefined) ids.elements.set(tr, id = performance.timeOrigin + ':' + ids.next++);
+                return id;
+              };
+              document.querySelectorAll(o.tableSelector).forEach((table, t) => {
+                const rows = table.querySelectorAll(o.rowSelector);
+                if (rows.length === 0) return;
+                out.push({
+                  table: t,
+                  headers: Array.from(table.querySelectorAll(o.headerSelector), h => h.innerText.trim()),
+                  rows: Array.from(rows, tr => {
+                    const key = tr.getAttribute('data-row-key') ?? tr.getAttribute('aria-rowindex') ?? tr.getAttribute('data-index');
+                    return {
+                      key,
+                      handle: key === null ? handle(tr) : null,
+                      cells: Array.from(tr.querySelectorAll(o.cellSelector), c => c.innerText.trim())
+                    };
+                  })
+                });
+              });
+              return out;
+            }
+            """;
+
+    /**
+     * Scrolls the explicit container, else the nearest scrollable ancestor of the first table, else the page,
+     * by most of a viewport (the overlap is removed by de-duplication). Returns whether it moved.
+     */
+    private static final String SCROLL_JS = """
+            o => {
+              const table = document.querySelector(o.tableSelector);
+              let el = o.scrollContainer ? document.querySelector(o.scrollContainer) : null;
+              for (let p = table && table.parentElement; !el && p; p = p.parentElement) {
+                const overflow = getComputedStyle(p).overflowY;
+                if ((overflow === 'auto' || overflow === 'scroll') && p.scrollHeight > p.clientHeight) el = p;
+              }
+              el = el || document.scrollingElement;
+              const before = el.scrollTop;
+              el.scrollTop = before + Math.max(1, Math.floor(el.clientHeight * 0.8));
+              return el.scrollTop > before;
+            }
+            """;
+
+    private static final String NEXT_PAGE_JS = """
+            selector => {
+              const next = document.querySelector(selector);
+              if (!next || next.disabled || next.getAttribute('aria-disabled') === 'true' || !next.getClientRects().length) {
+                return false;
+              }
+              next.click();
+              return true;
+            }
+            """;
+
+    private static final String SIGNATURE_JS = """
+            o => {
+              const rows = document.querySelectorAll(o.tableSelector + ' ' + o.rowSelector);
+              const text = r => r ? r.innerText : '';
+              return rows.length + '|' + text(rows[0]) + '|' + text(rows[rows.length - 1]);
+            }
+            """;
+
+    private static final String CHANGED_JS = "o => (" + SIGNATURE_JS + ")(o) !== o.previous";
+
+    private final Page page;
+    private final Options options;
+    private final Map<String, Object> args;
+
+    public TableScraper(Page page, String tableSelector) {
+        this(page, tableSelector, new Options());
+    }
+
+    public TableScraper(Page page, String tableSelector, Options options) {
+        this.page = page;
+        this.options = options;
+        Map<String, Object> a = new HashMap<>();
+        a.put("tableSelector", tableSelector);
+        a.put("rowSelector", options.rowSelector);
+        a.put("cellSelector", options.cellSelector);
+        a.put("headerSelector", options.headerSelector);
+        a.put("scrollContainer", options.scrollContainer);
+        this.args = Collections.unmodifiableMap(a);
+    }
+
+    /**
+     * Lazily scraped rows, in document order, without duplicates.
+     */
+    public Stream<TableRow> stream() {
+        return StreamSupport.stream(new RowSpliterator(), false);
+    }
+
+    /**
+     * Hands rows to {@code visitor} until it returns {@code false} or the table is exhausted.
+     *
+     * @return number of rows visited
+     */
+    public long forEach(Predicate<TableRow> visitor) {
+        long[] visited = {0};
+        stream().takeWhile(row -> {
+            visited[0]++;
+            return visitor.test(row);
+        }).forEach(row -> {
+        });
+        return visited[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> extract() {
+        return (List<Object>) page.evaluate(EXTRACT_JS, args);
+    }
+
+    /**
+     * Moves to the next set of rows, by scrolling first and paging second, and waits for the DOM to change.
+     */
+    private boolean advance() {
+        String before = String.valueOf(page.evaluate(SIGNATURE_JS, args));
+        boolean moved = options.scroll && Boolean.TRUE.equals(page.evaluate(SCROLL_JS, args));
+        if (!moved && options.nextPageSelector != null) {
+            moved = Boolean.TRUE.equals(page.evaluate(NEXT_PAGE_JS, options.nextPageSelector));
+        }
+        if (!moved) return false;
+
+        Map<String, Object> changed = new HashMap<>(args);
+        changed.put("previous", before);
+        try {
+            page.waitForFunction(CHANGED_JS, changed,
+                    new Page.WaitForFunctionOptions().setTimeout(options.settleTimeoutMs));
+        } catch (TimeoutError e) {
+            // Nothing re-rendered (e.g. a plain table that only scrolled); the next batch is de-duplicated anyway
+        }
+        return true;
+    }
+
+    private final class RowSpliterator extends Spliterators.AbstractSpliterator<TableRow> {
+
+        private final Map<String, Boolean> seen;
+        private final Map<List<String>, Columns> columns = new HashMap<>();
+        private int window = options.dedupeWindow;
+        private Iterator<TableRow> batch = Collections.emptyIterator();
+        private int batches;
+        private boolean exhausted;
+        private long index;
+
+        private RowSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.seen = new LinkedHashMap<>(256, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > window;
+                }
+            };
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TableRow> action) {
+            while (!batch.hasNext()) {
+                if (exhausted) return false;
+                if (batches > 0 && (batches >= options.maxBatches || !advance())) {
+                    exhausted = true;
+                    return false;
+                }
+                batches++;
+                batch = nextBatch().iterator();
+            }
+            action.accept(batch.next());
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<TableRow> nextBatch() {
+            List<Object> tables = extract();
+            int rowsInDom = 0;
+            for (Object t : tables) rowsInDom += ((List<Object>) ((Map<String, Object>) t).get("rows")).size();
+            // The window must at least cover what is rendered at once, or a re-read batch would repeat rows
+            window = Math.max(options.dedupeWindow, 2 * rowsInDom);
+
+            List<TableRow> out = new ArrayList<>();
+            for (Object t : tables) {
+                Map<String, Object> table = (Map<String, Object>) t;
+                int tableIndex = ((Number) table.get("table")).intValue();
+                List<String> headers = ((List<Object>) table.get("headers")).stream().map(String::valueOf).toList();
+                Columns cols = columns.computeIfAbsent(headers, Columns::new);
+
+                for (Object r : (List<Object>) table.get("rows")) {
+                    Map<String, Object> row = (Map<String, Object>) r;
+                    List<String> cells = ((List<Object>) row.get("cells")).stream().map(String::valueOf).toList();
+                    if (cells.isEmpty()) continue;
+
+                    // Keyless rows: the element handle tells re-read rows from identical ones, the text catches
+                    // virtualized tables that recycle an element for another row
+                    Object key = row.get("key");
+                    String dedupeKey = tableIndex + "\u001f" + (key != null
+                            ? "k" + key
+                            : "h" + row.get("handle") + "\u001f" + String.join("\u001f", cells));
+                    if (seen.put(dedupeKey, Boolean.TRUE) == null) {
+                        out.add(new TableRow(index++, tableIndex, cols, cells));
+                    }
+                }
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Header name → column position for one table. Names are matched ignoring case, whitespace and
+     * punctuation, so {@code "Birth Place"}, {@code "birthplace"} and {@code "Birth-place"} are the same column.
+     */
+    public static final class Columns {
+
+        private final List<String> headers;
+        private final Map<String, Integer> index = new HashMap<>();
+
+        Columns(List<String> headers) {
+            this.headers = List.copyOf(headers);
+            for (int i = 0; i < headers.size(); i++) {
+                index.putIfAbsent(normalize(headers.get(i)), i);
+            }
+        }
+
+        public List<String> headers() {
+            return headers;
+        }
+
+        /**
+         * @return position of the first column named like any of {@code names}, or {@code -1}
+         */
+        public int indexOf(String... names) {
+            for (String name : names) {
+                Integer i = index.get(normalize(name));
+                if (i != null) return i;
+            }
+            return -1;
+        }
+
+        private static String normalize(String header) {
+            StringBuilder sb = new StringBuilder(header.length());
+            for (int i = 0; i < header.length(); i++) {
+                char c = header.charAt(i);
+                if (Character.isLetterOrDigit(c)) sb.append(Character.toLowerCase(c));
+            }
+            return sb.toString().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * One scraped row.
+     *
+     * @param index   position among the rows returned by this scraper (0-based)
+     * @param table   position of the row's table among those matched by the table selector
+     * @param columns the row's table headers
+     * @param cells   trimmed cell texts
+     */
+    public record TableRow(long index, int table, Columns columns, List<String> cells) {
+
+        /**
+         * Cell under the first header matching any of {@code names}, or {@code null} if there is no such
+         * column or the row is shorter.
+         */
+        public String get(String... names) {
+            int i = columns.indexOf(names);
+            return (i >= 0 && i < cells.size()) ? cells.get(i) : null;
+        }
+
+        public String require(String... names) {
+            String v = get(names);
+            if (v == null) {
+                throw new IllegalStateException("No column " + List.of(names) + " in table with headers "
+                        + columns.headers());
+            }
+            return v;
+        }
+    }
+
+    /**
+     * Scraper settings, in the style of Playwright's option classes.
+     */
+    public static final class Options {
+        private String rowSelector = "tbody tr";
+        private String cellSelector = "td";
+        private String headerSelector = "thead th";
+        private boolean scroll;
+        private String scrollContainer;
+        private String nextPageSelector;
+        private int dedupeWindow = 1_000;
+        private int maxBatches = 1_000;
+        private double settleTimeoutMs = 2_000;
+
+        /**
+         * Rows, relative to each table. Default {@code tbody tr}; use {@code [role=row]} for ARIA grids.
+         */
+        public Options setRowSelector(String rowSelector) {
+            this.rowSelector = rowSelector;
+            return this;
+        }
+
+        /**
+         * Cells, relative to each row. Default {@code td}; use {@code [role=gridcell]} for ARIA grids.
+         */
+        public Options setCellSelector(String cellSelector) {
+            this.cellSelector = cellSelector;
+            return this;
+        }
+
+        /**
+         * Header cells, relative to each table. Default {@code thead th}.
+         */
+        public Options setHeaderSelector(String headerSelector) {
+            this.headerSelector = headerSelector;
+            return this;
+        }
+
+        /**
+         * Scroll to render more rows (virtualized tables). Off by default.
+         */
+        public Options setScroll(boolean scroll) {
+            this.scroll = scroll;
+            return this;
+        }
+
+        /**
+         * Element to scroll; by default the table's nearest scrollable ancestor, else the page.
+         */
+        public Options setScrollContainer(String scrollContainer) {
+            this.scrollContainer = scrollContainer;
+            return this;
+        }
+
+        /**
+         * "Next page" control, clicked once scrolling brings no more rows. A missing, hidden or disabled
+         * control ends the scrape.
+         */
+        public Options setNextPageSelector(String nextPageSelector) {
+            this.nextPageSelector = nextPageSelector;
+            return this;
+        }
+
+        /**
+         * How many recent row keys are remembered for de-duplication (never fewer than twice the rows
+         * rendered at once).
+         */
+        public Options setDedupeWindow(int dedupeWindow) {
+            this.dedupeWindow = dedupeWindow;
+            return this;
+        }
+
+        /**
+         * Upper bound on batches (scroll steps plus pages), guarding against tables that never end.
+         */
+        public Options setMaxBatches(int maxBatches) {
+            this.maxBatches = maxBatches;
+            return this;
+        }
+
+        /**
+         * How long to wait for the table to re-render after scrolling or paging.
+         */
+        public Options setSettleTimeoutMs(double settleTimeoutMs) {
+            this.settleTimeoutMs = settleTimeoutMs;
+            return this;
+        }
+    }
+}
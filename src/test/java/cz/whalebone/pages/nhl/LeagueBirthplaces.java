@@ -0,0 +1,117 @@
+package cz.whalebone.pages.nhl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import cz.whalebone.api.model.Team;
+import cz.whalebone.config.Config;
+import cz.whalebone.reporting.ArtifactPipeline;
+import cz.whalebone.util.CountryHistogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Country-of-birth breakdown of a {@link LeagueRosterScraper} run, per team and overall, serialized as JSON.
+ * Countries are the last comma-separated segment of the birthplace (see {@link CountryHistogram}), most
+ * frequent first; birthplaces without one are counted as {@value #UNKNOWN}.
+ */
+public record LeagueBirthplaces(int concurrency,
+                                long wallMs,
+                                int succeeded,
+                                int failed,
+                                Map<String, Long> overall,
+                                List<TeamRoster> teams) {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writerWithDefaultPrettyPrinter();
+
+    /**
+     * @param blockedRequests requests blocked by the scrape's route policy
+     * @param error           {@code null} when the roster was scraped
+     */
+    public record TeamRoster(String team,
+                             String url,
+                             int players,
+                             Map<String, Long> countries,
+                             long durationMs,
+                             int blockedRequests,
+                             String error) {
+
+        static TeamRoster ok(Team team, List<String> birthplaces, long durationMs, int blockedRequests) {
+            CountryHistogram histogram = CountryHistogram.of(birthplaces);
+            Map<String, Long> counts = histogram.toMap();
+            if (histogram.unknown() > 0) counts.put(UNKNOWN, histogram.unknown());
+            return new TeamRoster(team.name(), team.officialSiteUrl(), birthplaces.size(), sorted(counts), durationMs,
+                    blockedRequests, null);
+        }
+
+        static TeamRoster failed(Team team, String error, long durationMs) {
+            return new TeamRoster(team.name(), team.officialSiteUrl(), 0, Map.of(), durationMs, 0, error);
+        }
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    static LeagueBirthplaces of(int concurrency, List<TeamRoster> teams, long wallMs) {
+        Map<String, Long> overall = new HashMap<>();
+        int ok = 0;
+        for (TeamRoster team : teams) {
+            if (team.succeeded()) ok++;
+            team.countries().forEach((country, n) -> overall.merge(country, n, Long::sum));
+        }
+        return new LeagueBirthplaces(concurrency, wallMs, ok, teams.size() - ok, sorted(overall), List.copyOf(teams));
+    }
+
+    public long count(String country) {
+        return overall.getOrDefault(country, 0L);
+    }
+
+    public String toJson() {
+        try {
+            return WRITER.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize league birthplaces", e);
+        }
+    }
+
+    /**
+     * Writes the report to {@code league.reportDir} and attaches it to the running test.
+     *
+     * @return the written file
+     */
+    public Path publish() {
+        String json = toJson();
+        Path file = Paths.get(Config.leagueReportDir()).resolve("birthplaces_"
+                + DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss").format(LocalDateTime.now()) + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, json, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write league report " + file, e);
+        }
+        ArtifactPipeline.get().attachText("League birthplaces", "application/json", ".json", json);
+        return file;
+    }
+
+    private static Map<String, Long> sorted(Map<String, Long> counts) {
+        Map<String, Long> out = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> out.put(e.getKey(), e.getValue()));
+        return out;
+    }
+}
@@ -0,0 +1,251 @@
+package cz.whalebone.pages.nhl;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import cz.whalebone.api.model.Team;
+import cz.whalebone.config.Config;
+import cz.whalebone.support.BrowserPool;
+import cz.whalebone.support.RouteBlocker;
+import cz.whalebone.support.RoutePolicy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Scrapes the roster of every team concurrently and aggregates player birthplaces by country.
+ *
+ * <p>Sites are scraped {@code concurrency} at a time on dedicated worker threads. Playwright objects are
+ * thread-confined, so each worker takes its own browser from {@link BrowserPool} (launched once per worker,
+ * closed when the worker ends) and opens a fresh context per team. The wall time is therefore close to that
+ * of the slowest sites rather than the sum of all of them.</p>
+ *
+ * <p>One team failing (unreachable site, timeout, no roster table) does not stop the others; it is recorded in
+ * the team's {@link LeagueBirthplaces.TeamRoster#error()} and the caller decides how many failures to tolerate.</p>
+ *
+ * <p>Each site has a deadline covering all of its work, capped by the league deadline. When it passes, the worker
+ * is interrupted, which aborts the driver call it is blocked in; the worker then closes its own context, so no
+ * Playwright object is touched from another thread. Teams not finished by the league deadline are recorded as
+ * timed out, and {@link #scrape} waits briefly for the interrupted workers to close their browsers.</p>
+ */
+public final class LeagueRosterScraper {
+
+    private static final Logger LOG = Logger.getLogger(LeagueRosterScraper.class.getName());
+
+    private static final Duration SHUTDOWN_GRACE = Duration.ofSeconds(30);
+
+    /**
+     * @param concurrency  sites scraped at once
+     * @param siteTimeout  deadline for one site: context, navigation, waits and scraping together
+     * @param totalTimeout deadline for the whole league
+     * @param routePolicy  requests blocked on every site (the roster only needs the HTML table)
+     */
+    public record Settings(int concurrency, Duration siteTimeout, Duration totalTimeout, RoutePolicy routePolicy) {
+
+        public static Settings fromConfig() {
+            return new Settings(
+                    Config.leagueConcurrency(),
+                    Duration.ofMillis(Config.leagueSiteTimeoutMs()),
+                    Duration.ofSeconds(Config.leagueTimeoutSec()),
+                    RoutePolicy.fromConfig());
+        }
+
+        public Settings withRoutePolicy(RoutePolicy policy) {
+            return new Settings(concurrency, siteTimeout, totalTimeout, policy);
+        }
+    }
+
+    private LeagueRosterScraper() {
+    }
+
+    public static LeagueBirthplaces scrape(List<Team> teams, Settings settings) {
+        long start = System.nanoTime();
+        long deadline = start + settings.totalTimeout().toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(
+                Math.min(settings.concurrency(), Math.max(1, teams.size())), new WorkerFactory());
+        ScheduledExecutorService alarms = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "roster-scrape-deadline");
+            t.setDaemon(true);
+            return t;
+        });
+
+        List<Future<LeagueBirthplaces.TeamRoster>> futures = new ArrayList<>(teams.size());
+        List<LeagueBirthplaces.TeamRoster> rosters = new ArrayList<>(teams.size());
+        try {
+            for (Team team : teams) {
+                futures.add(workers.submit(() -> scrapeTeam(team, settings, deadline, alarms)));
+            }
+            for (int i = 0; i < teams.size(); i++) {
+                rosters.add(await(teams.get(i), futures.get(i), deadline));
+            }
+        } finally {
+            // Drops queued sites and interrupts running ones, which then close their own contexts and browsers
+            workers.shutdownNow();
+            awaitWorkers(workers);
+            alarms.shutdownNow();
+        }
+
+        return LeagueBirthplaces.of(settings.concurrency(), rosters,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static LeagueBirthplaces.TeamRoster await(Team team, Future<LeagueBirthplaces.TeamRoster> future,
+                                                      long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            future.cancel(false);
+            return LeagueBirthplaces.TeamRoster.failed(team, "Not finished before the league deadline", 0);
+        } catch (ExecutionException e) {
+            return LeagueBirthplaces.TeamRoster.failed(team, String.valueOf(e.getCause()), 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            return LeagueBirthplaces.TeamRoster.failed(team, "Interrupted", 0);
+        }
+    }
+
+    private static void awaitWorkers(ExecutorService workers) {
+        try {
+            if (!workers.awaitTermination(SHUTDOWN_GRACE.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOG.warning("Roster workers still running " + SHUTDOWN_GRACE.toSeconds()
+                        + " s after the league deadline; their browsers stay open until they end");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static LeagueBirthplaces.TeamRoster scrapeTeam(Team team, Settings settings, long leagueDeadline,
+                                                           ScheduledExecutorService alarms) {
+        long start = System.nanoTime();
+        long deadline = Math.min(start + settings.siteTimeout().toNanos(), leagueDeadline);
+        Browser browser = BrowserPool.acquire();
+        BrowserContext context = null;
+        boolean crashed = false;
+        try (SiteAlarm alarm = new SiteAlarm(alarms, deadline - start)) {
+            try {
+                context = browser.newContext(new Browser.NewContextOptions()
+                        .setViewportSize(Config.uiViewportWidth(), Config.uiViewportHeight()));
+                limitTimeouts(context, deadline);
+                RouteBlocker blocker = RouteBlocker.install(context, settings.routePolicy());
+
+                Page page = context.newPage();
+                RosterPage roster = new RosterPage(context, page);
+                roster.open(team.officialSiteUrl());
+                checkDeadline(alarm);
+                limitTimeouts(context, deadline);
+                List<String> birthplaces = roster.scrapeBirthplaces();
+
+                return LeagueBirthplaces.TeamRoster.ok(team, birthplaces, elapsedMs(start),
+                        blocker != null ? blocker.blocked() : 0);
+            } catch (RuntimeException e) {
+                String error = alarm.fired() || deadline - System.nanoTime() <= 0
+                        ? "Not finished within the site deadline (" + elapsedMs(start) + " ms)"
+                        : e.toString();
+                LOG.log(Level.INFO, "Roster scrape failed for " + team.name() + " (" + team.officialSiteUrl() + "): "
+                        + error, e);
+                crashed = !browser.isConnected();
+                return LeagueBirthplaces.TeamRoster.failed(team, error, elapsedMs(start));
+            }
+        } finally {
+            closeQuietly(context);
+            BrowserPool.release(crashed);
+        }
+    }
+
+    /**
+     * Keeps single driver calls from outliving the site deadline; the alarm covers the sum of them.
+     */
+    private static void limitTimeouts(BrowserContext context, long deadline) {
+        double remainingMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        context.setDefaultTimeout(remainingMs);
+        context.setDefaultNavigationTimeout(remainingMs);
+    }
+
+    private static void checkDeadline(SiteAlarm alarm) {
+        if (alarm.fired()) throw new IllegalStateException("Site deadline passed");
+    }
+
+    private static void closeQuietly(BrowserContext context) {
+        if (context == null) return;
+        try {
+            context.close();
+        } catch (RuntimeException e) {
+            LOG.log(Level.FINE, "Failed to close roster context", e);
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Interrupts the calling worker when its site deadline passes, which makes the driver call it is blocked in
+     * throw. Closing disarms it and clears an interrupt that did not land inside a driver call, so the worker
+     * can still close its context.
+     */
+    private static final class SiteAlarm implements AutoCloseable {
+        private final Thread worker = Thread.currentThread();
+        private final ScheduledFuture<?> alarm;
+        private boolean armed = true;
+        private volatile boolean fired;
+
+        private SiteAlarm(ScheduledExecutorService alarms, long delayNanos) {
+            this.alarm = alarms.schedule(this::fire, Math.max(0, delayNanos), TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void fire() {
+            if (!armed) return;
+            fired = true;
+            worker.interrupt();
+        }
+
+        boolean fired() {
+            return fired;
+        }
+
+        @Override
+        public void close() {
+            alarm.cancel(false);
+            synchronized (this) {
+                armed = false;
+            }
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Daemon workers that close their pooled browser when they end.
+     */
+    private static final class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger seq = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(() -> {
+                try {
+                    r.run();
+                } finally {
+                    BrowserPool.discard();
+                }
+            }, "roster-scrape-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
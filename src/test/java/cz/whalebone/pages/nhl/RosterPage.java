@@ -3,15 +3,21 @@ package cz.whalebone.pages.nhl;
 import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
 import cz.whalebone.pages.BasePage;
+import cz.whalebone.pages.TableScraper;
 import io.qameta.allure.Step;
 
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class RosterPage extends BasePage {
 
+    private static final Logger LOG = Logger.getLogger(RosterPage.class.getName());
+
     private static final String PAGE_TITLE_SELECTOR = "h1";
     private static final String ROSTER_ROWS_SELECTOR = "table tbody tr";
     private static final String ANCESTOR_TABLE_XPATH = "xpath=ancestor::table[1]";
@@ -19,6 +25,8 @@ public class RosterPage extends BasePage {
     private static final String ROW_TD_SELECTOR = "td";
     private static final String ROSTER_PATH_SUFFIX = "roster";
 
+    private static final String TABLE_SELECTOR = "table";
+
     private final Locator title;
     private final Locator rows;
 
@@ -33,7 +41,7 @@ public class RosterPage extends BasePage {
         navigateTo(buildRosterUrl(baseUrl));
     }
 
-    static String buildRosterUrl(String baseUrl) {
+    public static String buildRosterUrl(String baseUrl) {
         if (baseUrl == null || baseUrl.isBlank()) {
             throw new IllegalArgumentException("baseUrl must not be null/blank");
         }
@@ -48,39 +56,61 @@ public class RosterPage extends BasePage {
     }
 
     /**
-     * Scrapes the last column of each roster table row, which conventionally holds
-     * the player's birth place.
+     * Scrapes the birthplace column of each roster table row (see {@link RosterRow#birthplace()}).
      *
      * @return non-empty list of birthplace strings
      * @throws IllegalStateException if no birthplace values could be scraped
      */
     @Step("Scrape player birthplaces from roster table")
     public List<String> scrapeBirthplaces() {
+        List<String> out = new ArrayList<>();
+        for (RosterRow row : scrapeRoster()) {
+            if (!row.birthplace().isBlank()) {
+                out.add(row.birthplace());
+            }
+        }
+
+        if (out.isEmpty()) {
+            throw new IllegalStateException("Could not scrape any Birth Place values from roster table");
+        }
+        return out;
+    }
+
+    /**
+     * Reads every roster table (headers and cell text) in a single page evaluation through {@link TableScraper},
+     * instead of several driver round-trips per row. Falls back to per-row locators if the evaluation fails or
+     * finds nothing.
+     *
+     * @return rows in document order; rows without cells are skipped
+     */
+    @Step("Scrape roster table")
+    public List<RosterRow> scrapeRoster() {
         verifyRosterPageLoaded();
 
+        List<RosterRow> out;
+        try {
+            out = new TableScraper(page, TABLE_SELECTOR).stream().map(RosterRow::of).toList();
+        } catch (PlaywrightException e) {
+            LOG.log(Level.FINE, "Bulk roster extraction failed, falling back to per-row locators", e);
+            out = List.of();
+        }
+        return out.isEmpty() ? extractPerRow() : out;
+    }
+
+    /**
+     * Fallback: about three driver round-trips per row.
+     */
+    private List<RosterRow> extractPerRow() {
         int rowCount = rows.count();
-        List<String> out = new ArrayList<>();
+        List<RosterRow> out = new ArrayList<>();
 
         Locator table = rows.first().locator(ANCESTOR_TABLE_XPATH);
         int thCount = table.locator(TABLE_HEADER_TH).count();
-        int lastColIndex = thCount > 0 ? thCount - 1 : -1;
 
         for (int i = 0; i < rowCount; i++) {
-            Locator row = rows.nth(i);
-            Locator tds = row.locator(ROW_TD_SELECTOR);
-            int tdCount = tds.count();
-            if (tdCount == 0) continue;
-
-            int idx = lastColIndex >= 0 ? Math.min(lastColIndex, tdCount - 1) : tdCount - 1;
-            String value = tds.nth(idx).innerText().trim();
-
-            if (!value.isBlank()) {
-                out.add(value);
-            }
-        }
-
-        if (out.isEmpty()) {
-            throw new IllegalStateException("Could not scrape any Birth Place values from roster table");
+            Locator tds = rows.nth(i).locator(ROW_TD_SELECTOR);
+            List<String> cells = tds.allInnerTexts().stream().map(String::trim).toList();
+            if (!cells.isEmpty()) out.add(RosterRow.of(cells, thCount));
         }
         return out;
     }
@@ -0,0 +1,32 @@
+package cz.whalebone.pages.nhl;
+
+import cz.whalebone.pages.TableScraper;
+
+import java.util.List;
+
+/**
+ * One player row of a roster table.
+ *
+ * @param player     text of the first cell (the player name on NHL roster pages)
+ * @param birthplace text of the birthplace column: the cell under a "Birthplace" header, else the cell under
+ *                   the table's last header, or the last cell when the table has no header or the row is shorter
+ * @param cells      all cell texts of the row, trimmed
+ */
+public record RosterRow(String player, String birthplace, List<String> cells) {
+
+    private static final String[] BIRTHPLACE_HEADERS = {"Birthplace", "Place of Birth", "Born In"};
+
+    static RosterRow of(TableScraper.TableRow row) {
+        List<String> cells = row.cells();
+        int idx = row.columns().indexOf(BIRTHPLACE_HEADERS);
+        if (idx < 0 || idx >= cells.size()) {
+            return of(cells, row.columns().headers().size());
+        }
+        return new RosterRow(cells.get(0), cells.get(idx), cells);
+    }
+
+    static RosterRow of(List<String> cells, int headerCount) {
+        int idx = headerCount > 0 ? Math.min(headerCount - 1, cells.size() - 1) : cells.size() - 1;
+        return new RosterRow(cells.get(0), cells.get(idx), List.copyOf(cells));
+    }
+}
@@ -15,8 +15,6 @@ public class ProgressBarPage extends BasePage {
     private static final String STOP_BUTTON = "button:has-text('Stop')";
     private static final String PROGRESS_BAR = "#progressBar";
 
-    private static final int POLL_INTERVAL_MS = 75;
-
     private final Locator title;
     private final Locator start;
     private final Locator stop;
@@ -63,33 +61,15 @@ public class ProgressBarPage extends BasePage {
     }
 
     /**
-     * Polls the progress value until it has not changed for {@code stableForMs} consecutive
-     * milliseconds, or throws if {@code timeoutMs} elapses first.
+     * Waits until the progress value has not changed for {@code stableForMs} consecutive
+     * milliseconds, or throws if {@code timeoutMs} elapses first (see {@link #waitUntilStable}).
      *
-     * <p><b>Note on tolerance:</b> there is an inherent race between the JS timer that drives
-     * the bar and the JVM reading {@code aria-valuenow}. The caller should account for a
-     * ±1–2 point overshoot when asserting the final value.</p>
+     * <p><b>Note on tolerance:</b> the bar's JS timer may still tick between the Stop click and
+     * the handler running. The caller should account for a ±1–2 point overshoot when asserting
+     * the final value.</p>
      */
     @Step("Wait until progress bar value stabilizes for {stableForMs}ms (timeout {timeoutMs}ms)")
-    public void waitUntilValueStabilizes(long stableForMs, long timeoutMs) {
-        long deadline = System.currentTimeMillis() + timeoutMs;
-        Integer last = null;
-        long stableSince = System.currentTimeMillis();
-
-        while (System.currentTimeMillis() < deadline) {
-            int now = progressValue();
-
-            if (last == null || now != last) {
-                stableSince = System.currentTimeMillis();
-                last = now;
-            } else if (System.currentTimeMillis() - stableSince >= stableForMs) {
-                return;
-            }
-
-            page.waitForTimeout(POLL_INTERVAL_MS);
-        }
-
-        throw new AssertionError(
-                "Progress bar value did not stabilize within " + timeoutMs + "ms. Last value: " + last);
+    public Settled waitUntilValueStabilizes(long stableForMs, long timeoutMs) {
+        return waitUntilStable(progress, "aria-valuenow", stableForMs, timeoutMs);
     }
 }
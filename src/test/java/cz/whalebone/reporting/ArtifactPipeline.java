@@ -0,0 +1,201 @@
+package cz.whalebone.reporting;
+
+import cz.whalebone.config.Config;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.util.PropertiesUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Writes Allure attachments on a small pool of background threads.
+ *
+ * <p>The attachment is registered with the running test on the caller's thread (cheap, no I/O),
+ * so it still shows up under the right test; the content is then stored in the {@link ArtifactStore}
+ * by a worker and the Allure attachment is hard-linked to the stored blob. This keeps disk I/O off
+ * the test threads and avoids a second copy per artifact.</p>
+ *
+ * <ul>
+ *   <li><b>Backpressure:</b> the hand-off queue is bounded ({@code artifacts.queueSize}); when it is
+ *   full the caller writes the artifact itself, so pending artifacts cannot pile up on the heap.</li>
+ *   <li><b>Size cap:</b> each artifact is truncated at {@code artifacts.maxMb}.</li>
+ *   <li><b>Flush barrier:</b> {@link #flush(Duration)} blocks until every accepted artifact has been
+ *   written; {@link SuiteLifecycleListener} calls it at suite end.</li>
+ * </ul>
+ */
+public final class ArtifactPipeline {
+
+    private static final Logger LOG = Logger.getLogger(ArtifactPipeline.class.getName());
+
+    private static final ArtifactPipeline INSTANCE = new ArtifactPipeline(
+            Config.artifactsWorkers(), Config.artifactsQueueSize(), Config.artifactsMaxMb() * 1024L * 1024L);
+
+    private final ThreadPoolExecutor executor;
+    private final Phaser pending = new Phaser(1);
+    private final long maxBytes;
+    private final ArtifactStore store = ArtifactStore.get();
+    private final Path resultsDir = Paths.get(PropertiesUtils.loadAllureProperties()
+            .getProperty("allure.results.directory", "allure-results"));
+
+    private ArtifactPipeline(int workers, int queueSize, long maxBytes) {
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "artifact-writer-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.maxBytes = maxBytes;
+    }
+
+    public static ArtifactPipeline get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Stores {@code text} as gzip-compressed UTF-8 (capped at {@code artifacts.maxMb} of encoded bytes, cut on a
+     * character boundary). The attachment cannot be linked to that blob, since Allure does not render
+     * {@code .gz} content, so it gets a decompressed copy instead.
+     */
+    public void attachText(String name, String mime, String ext, String text) {
+        if (text == null || text.isBlank()) return;
+        submit(name, mime, ext, (lifecycle, source) ->
+                unpack(lifecycle, source, store.putText(capUtf8(text), ext, maxBytes)));
+    }
+
+    public void attachBytes(String name, String mime, String ext, byte[] bytes) {
+        if (bytes == null || bytes.length == 0) return;
+        submit(name, mime, ext, (lifecycle, source) -> link(lifecycle, source, store.putBytes(bytes, ext, maxBytes)));
+    }
+
+    /**
+     * Moves {@code file} (normally a {@link ArtifactStore#tempFile} scratch file) into the store and attaches it.
+     */
+    public void attachFile(String name, String mime, String ext, Path file) {
+        submit(name, mime, ext, (lifecycle, source) -> link(lifecycle, source, store.putFile(file, ext, maxBytes)));
+    }
+
+    /**
+     * Runs {@code generator} in the background to produce {@code file}, then attaches it.
+     * Used for artifacts that are expensive to encode (e.g. screencast GIFs).
+     */
+    public void attachGenerated(String name, String mime, String ext, Path file, Generator generator) {
+        submit(name, mime, ext, (lifecycle, source) -> {
+            if (generator.writeTo(file)) {
+                link(lifecycle, source, store.putFile(file, ext, maxBytes));
+            }
+        });
+    }
+
+    /**
+     * Blocks until all artifacts handed off so far are written, or {@code timeout} elapses.
+     */
+    public void flush(Duration timeout) {
+        try {
+            int phase = pending.arrive();
+            pending.awaitAdvanceInterruptibly(phase, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            LOG.warning("Artifact pipeline not drained within " + timeout + "; "
+                    + (pending.getRegisteredParties() - 1) + " artifact(s) still pending");
+        }
+    }
+
+    private void submit(String name, String mime, String ext, Task task) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String attachmentSource;
+        try {
+            attachmentSource = lifecycle.prepareAttachment(name, mime, ext);
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Failed to register attachment: " + name, e);
+            return;
+        }
+
+        pending.register();
+        try {
+            executor.execute(() -> {
+                try {
+                    task.write(lifecycle, attachmentSource);
+                } catch (Exception e) {
+                    LOG.log(Level.FINE, "Failed to write attachment: " + name, e);
+                } finally {
+                    pending.arriveAndDeregister();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.arriveAndDeregister();
+            LOG.log(Level.FINE, "Artifact pipeline rejected: " + name, e);
+        }
+    }
+
+    private byte[] capUtf8(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) return bytes;
+
+        byte[] marker = ("\n[truncated at " + maxBytes + " bytes]").getBytes(StandardCharsets.UTF_8);
+        int cut = (int) Math.max(0, maxBytes - marker.length);
+        while (cut > 0 && (bytes[cut] & 0xC0) == 0x80) cut--; // don't split a multi-byte character
+        byte[] out = Arrays.copyOf(bytes, cut + marker.length);
+        System.arraycopy(marker, 0, out, cut, marker.length);
+        return out;
+    }
+
+    /**
+     * Makes the Allure attachment a hard link to the stored blob, so the results directory does not
+     * hold a second copy. Falls back to copying when linking is not possible (e.g. other file system).
+     */
+    private void link(AllureLifecycle lifecycle, String source, Path blob) throws IOException {
+        Path target = resultsDir.resolve(source);
+        try {
+            Files.createDirectories(resultsDir);
+            Files.createLink(target, blob);
+        } catch (IOException | UnsupportedOperationException e) {
+            try (InputStream in = Files.newInputStream(blob)) {
+                lifecycle.writeAttachment(source, in);
+            }
+        }
+    }
+
+    /**
+     * Writes the decompressed content of a {@link ArtifactStore#putText} blob as the Allure attachment.
+     */
+    private static void unpack(AllureLifecycle lifecycle, String source, Path blob) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(blob))) {
+            lifecycle.writeAttachment(source, in);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void write(AllureLifecycle lifecycle, String attachmentSource) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Generator {
+        /**
+         * @return {@code false} if there was nothing to write
+         */
+        boolean writeTo(Path file) throws IOException;
+    }
+}
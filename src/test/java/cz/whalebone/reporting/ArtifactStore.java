@@ -0,0 +1,296 @@
+package cz.whalebone.reporting;
+
+import cz.whalebone.config.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed store for UI failure artifacts under {@code artifacts.dir}.
+ *
+ * <pre>
+ *   blobs/ab/ab12…ef.zip        one file per distinct content (SHA-256 + extension)
+ *   blobs/cd/cd34…01.html.gz    text artifacts are stored gzip-compressed (Allure gets a plain copy)
+ *   runs/&lt;runId&gt;.txt           blobs referenced by a run, one per line
+ *   tmp/                        scratch files (traces, videos, GIFs) before they are stored
+ * </pre>
+ *
+ * <p>Identical content is stored once. Retention is applied by {@link #prune()} at suite start:
+ * runs older than {@code artifacts.retention.maxAgeDays} or beyond the last
+ * {@code artifacts.retention.keepRuns} are dropped, then the oldest remaining runs are dropped while
+ * blobs exceed {@code artifacts.retention.maxTotalMb}, and finally unreferenced blobs are deleted.
+ * A value of 0 disables the respective limit.</p>
+ */
+public final class ArtifactStore {
+
+    private static final Logger LOG = Logger.getLogger(ArtifactStore.class.getName());
+
+    private static final ArtifactStore INSTANCE = new ArtifactStore(Paths.get(Config.artifactsDir()).toAbsolutePath());
+
+    private final Path blobs;
+    private final Path runs;
+    private final Path tmp;
+    private final Path manifest;
+    private final Set<String> recorded = new HashSet<>();
+
+    private ArtifactStore(Path root) {
+        this.blobs = root.resolve("blobs");
+        this.runs = root.resolve("runs");
+        this.tmp = root.resolve("tmp");
+        String runId = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss").format(LocalDateTime.now())
+                + "_" + ProcessHandle.current().pid();
+        this.manifest = runs.resolve(runId + ".txt");
+    }
+
+    public static ArtifactStore get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a fresh scratch path with the given extension; hand it to {@link #putFile} once written.
+     */
+    public Path tempFile(String ext) {
+        try {
+            Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tmp.resolve(UUID.randomUUID() + ext);
+    }
+
+    public Path tempDir() {
+        try {
+            return Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Moves {@code file} into the store (it is deleted if the content is already present) and
+     * returns the blob path. Content beyond {@code maxBytes} is cut off.
+     */
+    public Path putFile(Path file, String ext, long maxBytes) throws IOException {
+        try {
+            if (Files.size(file) <= maxBytes) {
+                String hash;
+                try (InputStream in = Files.newInputStream(file)) {
+                    hash = sha256(in);
+                }
+                Path blob = blobPath(hash, ext);
+                if (!Files.exists(blob)) {
+                    Files.createDirectories(blob.getParent());
+                    moveIntoPlace(file, blob);
+                }
+                return record(blob);
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                return putStream(in, ext, maxBytes, false);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public Path putBytes(byte[] bytes, String ext, long maxBytes) throws IOException {
+        try (InputStream in = new ByteArrayInputStream(bytes)) {
+            return putStream(in, ext, maxBytes, false);
+        }
+    }
+
+    /**
+     * Stores UTF-8 {@code text} gzip-compressed as {@code <hash><ext>.gz}; the blob is addressed by the hash of
+     * the uncompressed text.
+     */
+    public Path putText(byte[] text, String ext, long maxBytes) throws IOException {
+        try (InputStream in = new ByteArrayInputStream(text)) {
+            return putStream(in, ext, maxBytes, true);
+        }
+    }
+
+    private Path putStream(InputStream in, String ext, long maxBytes, boolean compress) throws IOException {
+        Path scratch = tempFile(".part");
+        MessageDigest digest = newDigest();
+        try {
+            try (InputStream digesting = new DigestInputStream(in, digest);
+                 OutputStream out = compress
+                         ? new GZIPOutputStream(Files.newOutputStream(scratch))
+                         : Files.newOutputStream(scratch)) {
+                copy(digesting, out, maxBytes);
+            }
+            Path blob = blobPath(HexFormat.of().formatHex(digest.digest()), compress ? ext + ".gz" : ext);
+            if (!Files.exists(blob)) {
+                Files.createDirectories(blob.getParent());
+                moveIntoPlace(scratch, blob);
+            }
+            return record(blob);
+        } finally {
+            Files.deleteIfExists(scratch);
+        }
+    }
+
+    private Path record(Path blob) throws IOException {
+        String name = blob.getFileName().toString();
+        synchronized (recorded) {
+            if (recorded.add(name)) {
+                Files.createDirectories(runs);
+                Files.writeString(manifest, name + System.lineSeparator(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        }
+        return blob;
+    }
+
+    /**
+     * Applies the retention limits; called once at suite start, before this run stores anything.
+     */
+    public void prune() {
+        try {
+            int keepRuns = Config.artifactsRetentionKeepRuns();
+            int maxAgeDays = Config.artifactsRetentionMaxAgeDays();
+            long maxTotalBytes = Config.artifactsRetentionMaxTotalMb() * 1024L * 1024L;
+            Instant cutoff = Instant.now().minus(Duration.ofDays(maxAgeDays));
+
+            List<Path> manifests = list(runs).stream()
+                    .sorted(Comparator.comparing(ArtifactStore::mtime).reversed())
+                    .toList();
+
+            List<Path> kept = new ArrayList<>();
+            for (Path m : manifests) {
+                boolean tooMany = keepRuns > 0 && kept.size() >= keepRuns;
+                boolean tooOld = maxAgeDays > 0 && mtime(m).isBefore(cutoff);
+                if (tooMany || tooOld) {
+                    Files.deleteIfExists(m);
+                } else {
+                    kept.add(m);
+                }
+            }
+
+            deleteUnreferenced(kept);
+            while (maxTotalBytes > 0 && kept.size() > 1 && totalSize(blobs) > maxTotalBytes) {
+                Files.deleteIfExists(kept.remove(kept.size() - 1));
+                deleteUnreferenced(kept);
+            }
+
+            Instant tmpCutoff = Instant.now().minus(Duration.ofDays(1));
+            for (Path p : list(tmp)) {
+                if (mtime(p).isBefore(tmpCutoff)) Files.deleteIfExists(p);
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to prune artifact store", e);
+        }
+    }
+
+    private void deleteUnreferenced(List<Path> manifests) throws IOException {
+        Set<String> live = new HashSet<>();
+        for (Path m : manifests) {
+            try (Stream<String> lines = Files.lines(m)) {
+                lines.map(String::trim).filter(l -> !l.isEmpty()).forEach(live::add);
+            }
+        }
+        for (Path shard : list(blobs)) {
+            for (Path blob : list(shard)) {
+                if (!live.contains(blob.getFileName().toString())) Files.deleteIfExists(blob);
+            }
+        }
+    }
+
+    private Path blobPath(String hash, String ext) {
+        return blobs.resolve(hash.substring(0, 2)).resolve(hash + ext);
+    }
+
+    private static void moveIntoPlace(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        } catch (FileAlreadyExistsException e) {
+            // Same content stored concurrently by another thread
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out, long maxBytes) throws IOException {
+        byte[] buf = new byte[64 * 1024];
+        long remaining = maxBytes;
+        int n;
+        while (remaining > 0 && (n = in.read(buf, 0, (int) Math.min(buf.length, remaining))) > 0) {
+            out.write(buf, 0, n);
+            remaining -= n;
+        }
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buf = new byte[64 * 1024];
+        int n;
+        while ((n = in.read(buf)) > 0) {
+            digest.update(buf, 0, n);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.toList();
+        }
+    }
+
+    private static long totalSize(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return 0;
+        try (Stream<Path> s = Files.walk(dir)) {
+            return s.filter(Files::isRegularFile).mapToLong(p -> {
+                try {
+                    return Files.size(p);
+                } catch (IOException e) {
+                    return 0;
+                }
+            }).sum();
+        }
+    }
+
+    private static Instant mtime(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+}
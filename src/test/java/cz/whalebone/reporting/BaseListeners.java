@@ -5,8 +5,13 @@ import org.testng.annotations.Listeners;
 @Listeners({
         io.qameta.allure.testng.AllureTestNg.class,
         cz.whalebone.reporting.TimeoutAsFailureListener.class,
+        cz.whalebone.reporting.HarReplayListener.class,
         cz.whalebone.reporting.UiFailureArtifactsListener.class,
-        cz.whalebone.reporting.RetryAnnotationTransformer.class
+        cz.whalebone.reporting.HttpCaptureListener.class,
+        cz.whalebone.reporting.StepTimingListener.class,
+        cz.whalebone.reporting.RetryAnnotationTransformer.class,
+        cz.whalebone.reporting.LongestFirstInterceptor.class,
+        cz.whalebone.reporting.SuiteLifecycleListener.class
 })
 public abstract class BaseListeners {
 }
@@ -0,0 +1,34 @@
+package cz.whalebone.reporting;
+
+import cz.whalebone.config.Config;
+import org.testng.ITestResult;
+
+/**
+ * Which heavy failure artifacts a single UI test attempt records.
+ *
+ * <p>With {@code ui.capture.policy=on-retry} the first attempt runs without tracing and WebM video;
+ * they are switched on only for retries of a failed test, so passing tests never pay for
+ * snapshotting and video encoding. If retries are disabled the first attempt is also the last
+ * one, so it records everything. Cheap artifacts (URL, DOM, screenshot) are captured at
+ * failure time on every attempt and are not part of the plan.</p>
+ *
+ * <p>Failures {@link RetryAnalyzer} never retries (assertion errors, {@link IllegalArgumentException},
+ * non-transient exceptions) only ever have a first attempt. So that they still come with a recording,
+ * the screencast ring buffer ({@code ui.video.mode=screencast} on Chromium, cheap until a failure
+ * encodes it) runs on every attempt. What such a failure loses is the Playwright trace, and the video
+ * when the screencast is unavailable (WebM mode or another browser).</p>
+ */
+public record CapturePlan(boolean trace, boolean video) {
+
+    public static CapturePlan forAttempt(ITestResult result) {
+        boolean heavy = "always".equals(Config.uiCapturePolicy())
+                || Config.uiRetryCount() == 0
+                || RetryAnalyzer.attemptOf(result) > 0;
+
+        boolean screencast = "screencast".equals(Config.uiVideoMode()) && "chromium".equals(Config.uiBrowser());
+
+        return new CapturePlan(
+                heavy && Config.uiTraceOnFailure(),
+                (heavy || screencast) && Config.uiVideoOnFailure());
+    }
+}
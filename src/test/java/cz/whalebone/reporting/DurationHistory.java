@@ -0,0 +1,115 @@
+package cz.whalebone.reporting;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Smoothed wall time of each test method across runs, kept in a local properties file
+ * ({@code <class>#<method>=<ms>}).
+ *
+ * <p>A new duration moves the estimate by {@value #ALPHA} of the difference (exponentially weighted moving
+ * average), so one slow run does not reorder the suite but a lasting change shows after a few runs. Methods with
+ * no history are estimated from the other methods of their class, then from all known methods.</p>
+ */
+final class DurationHistory {
+
+    private static final Logger LOG = Logger.getLogger(DurationHistory.class.getName());
+
+    static final double ALPHA = 0.3;
+
+    private final Path file;
+    private final Map<String, Double> estimates = new ConcurrentHashMap<>();
+
+    private DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads {@code file}; a missing or unreadable file starts an empty history.
+     */
+    static DurationHistory load(Path file) {
+        DurationHistory history = new DurationHistory(file);
+        if (!Files.isRegularFile(file)) return history;
+
+        Properties props = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.log(Level.WARNING, "Ignoring unreadable test duration history " + file, e);
+            return history;
+        }
+        for (String key : props.stringPropertyNames()) {
+            try {
+                double ms = Double.parseDouble(props.getProperty(key));
+                if (ms >= 0) history.estimates.put(key, ms);
+            } catch (NumberFormatException e) {
+                LOG.fine("Ignoring duration history entry " + key);
+            }
+        }
+        return history;
+    }
+
+    static String key(Class<?> testClass, String method) {
+        return testClass.getName() + "#" + method;
+    }
+
+    boolean isEmpty() {
+        return estimates.isEmpty();
+    }
+
+    /**
+     * Estimated milliseconds: the method's own history, else the mean of its class, else the mean of all known
+     * methods, else 0.
+     */
+    double estimate(Class<?> testClass, String method) {
+        Double own = estimates.get(key(testClass, method));
+        if (own != null) return own;
+
+        String prefix = testClass.getName() + "#";
+        OptionalDouble classMean = estimates.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(prefix))
+                .mapToDouble(Map.Entry::getValue)
+                .average();
+        if (classMean.isPresent()) return classMean.getAsDouble();
+
+        return estimates.values().stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+
+    void record(Class<?> testClass, String method, long durationMs) {
+        estimates.merge(key(testClass, method), (double) durationMs,
+                (old, now) -> old + ALPHA * (now - old));
+    }
+
+    /**
+     * Writes the history sorted by key (stable diffs when the file is compared between machines), replacing the
+     * file atomically.
+     */
+    void save() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, ".test-durations", ".tmp");
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                out.write("# Smoothed test durations in ms, used to run the longest tests first\n");
+                for (Map.Entry<String, Double> e : new TreeMap<>(estimates).entrySet()) {
+                    out.write(e.getKey() + "=" + Math.round(e.getValue()) + "\n");
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to save test duration history " + file, e);
+        }
+    }
+}
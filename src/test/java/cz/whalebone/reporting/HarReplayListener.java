@@ -0,0 +1,28 @@
+package cz.whalebone.reporting;
+
+import cz.whalebone.support.HarSession;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Fails a passing UI test whose HAR replay had to abort requests that were never recorded
+ * ({@code ui.har.notFound=fail}): the page logic ran against an incomplete site, so the pass proves little.
+ *
+ * <p>The status is changed in {@link #afterInvocation}, before the result reaches the test listeners and teardown
+ * (see {@link UiFailureArtifactsListener}).</p>
+ */
+public class HarReplayListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getStatus() != ITestResult.SUCCESS) return;
+
+        HarSession har = (result.getInstance() instanceof HasHarSession h) ? h.getHarSession() : null;
+        if (har == null || !har.failsTest()) return;
+
+        result.setStatus(ITestResult.FAILURE);
+        result.setThrowable(new AssertionError("HAR replay missed " + har.unmatched().size()
+                + " requests; re-record with -Dui.har.mode=record or set ui.har.notFound\n" + har.summary()));
+    }
+}
@@ -0,0 +1,7 @@
+package cz.whalebone.reporting;
+
+import cz.whalebone.support.HarSession;
+
+public interface HasHarSession {
+    HarSession getHarSession();
+}
@@ -0,0 +1,5 @@
+package cz.whalebone.reporting;
+
+public interface HasScreencast {
+    ScreencastRecorder getScreencast();
+}
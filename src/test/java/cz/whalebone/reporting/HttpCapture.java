@@ -0,0 +1,84 @@
+package cz.whalebone.reporting;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allure attachments for captured HTTP exchanges.
+ *
+ * <p>{@link #attach(Exchange)} hands the exchange to the {@link ArtifactPipeline} straight away;
+ * {@link #buffer(Exchange)} keeps it in a small per-thread ring instead, and {@link HttpCaptureListener}
+ * attaches the ring only if the test (or one of its configuration methods) fails. Bodies arrive already
+ * truncated, so neither path holds more than {@code api.capture.maxBodyKb} per exchange.</p>
+ */
+public final class HttpCapture {
+
+    private static final ThreadLocal<Deque<Exchange>> BUFFER = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private HttpCapture() {
+    }
+
+    public static void attach(Exchange exchange) {
+        ArtifactPipeline.get().attachText(exchange.title(), "text/plain", ".txt", exchange.format());
+    }
+
+    /**
+     * Keeps {@code exchange} on the current thread, dropping the oldest one beyond {@code capacity}.
+     */
+    public static void buffer(Exchange exchange, int capacity) {
+        Deque<Exchange> buffer = BUFFER.get();
+        if (buffer.size() >= capacity) buffer.removeFirst();
+        buffer.addLast(exchange);
+    }
+
+    static void attachBuffered() {
+        Deque<Exchange> buffer = BUFFER.get();
+        for (Exchange e; (e = buffer.pollFirst()) != null; ) {
+            attach(e);
+        }
+    }
+
+    static void discardBuffered() {
+        BUFFER.get().clear();
+    }
+
+    /**
+     * One request/response pair. {@code body} holds at most the capture limit; {@code bodyLength} is the
+     * full size ({@code -1} when the body was streamed to the caller and not captured). Status {@code 0}
+     * means no response was received.
+     */
+    public record Exchange(String method,
+                           String uri,
+                           Map<String, String> requestHeaders,
+                           int status,
+                           Map<String, List<String>> responseHeaders,
+                           byte[] body,
+                           long bodyLength,
+                           long durationMs) {
+
+        String title() {
+            return method + " " + uri + " → " + (status == 0 ? "no response" : status);
+        }
+
+        String format() {
+            StringBuilder sb = new StringBuilder(256 + body.length);
+            sb.append(method).append(' ').append(uri).append('\n');
+            requestHeaders.forEach((k, v) -> sb.append(k).append(": ").append(v).append('\n'));
+            sb.append('\n').append("HTTP ").append(status).append(" (").append(durationMs).append(" ms)\n");
+            responseHeaders.forEach((k, values) -> values.forEach(v -> sb.append(k).append(": ").append(v).append('\n')));
+            sb.append('\n');
+            if (bodyLength < 0) {
+                sb.append("[streamed body not captured]");
+            } else {
+                sb.append(new String(body, StandardCharsets.UTF_8));
+                if (bodyLength > body.length) {
+                    sb.append("\n[truncated: ").append(body.length).append(" of ").append(bodyLength).append(" bytes]");
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
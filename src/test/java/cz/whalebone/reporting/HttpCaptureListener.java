@@ -0,0 +1,25 @@
+package cz.whalebone.reporting;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Attaches HTTP exchanges buffered under {@code api.capture=on-failure} when a test or configuration
+ * method fails, and drops them when a test method completes otherwise.
+ *
+ * <p>Exchanges from a successful {@code @BeforeMethod} stay buffered, so a failing test shows the calls
+ * its setup made as well. Attaching in {@link #afterInvocation} keeps them under the test rather than
+ * its teardown (see {@link UiFailureArtifactsListener}).</p>
+ */
+public class HttpCaptureListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (result.getStatus() == ITestResult.FAILURE) {
+            HttpCapture.attachBuffered();
+        } else if (method.isTestMethod()) {
+            HttpCapture.discardBuffered();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package cz.whalebone.reporting;
+
+import cz.whalebone.config.Config;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Hands test methods to the TestNG workers longest first, using the durations of previous runs
+ * ({@link DurationHistory}, file {@code order.historyFile}).
+ *
+ * <p>With {@code parallel="methods"} each free worker takes the next method in the returned order. In declaration
+ * order a 30-second browser flow may start last and keep one worker busy while the others idle; starting the long
+ * ones first and filling in with short ones keeps the workers busy until close to the end (longest-processing-time
+ * scheduling). The estimated suite duration under both orders is logged.</p>
+ *
+ * <p>A recorded duration is what the test occupies a worker for: from the start of its first {@code @BeforeMethod}
+ * to the end of its last {@code @AfterMethod} (browser and context setup and teardown included), measured on the
+ * worker thread, which runs a test's configuration methods as well. Durations of passed and failed tests are saved
+ * when the suite ends. Methods the history has never seen are estimated from their class; without any history the
+ * declaration order is kept. {@code order.longestFirst=false} keeps declaration order but still records
+ * durations.</p>
+ */
+public class LongestFirstInterceptor implements IMethodInterceptor, IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger LOG = Logger.getLogger(LongestFirstInterceptor.class.getName());
+
+    // Open span of each worker thread; a finished test's span stays until its last @AfterMethod or the next test
+    private final Map<Thread, Span> spans = new ConcurrentHashMap<>();
+
+    private volatile DurationHistory history;
+    private volatile boolean recorded;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        DurationHistory h = history();
+        if (!Config.orderLongestFirst() || h.isEmpty() || methods.size() < 2) return methods;
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        // List.sort is stable: equal estimates keep their declaration order
+        ordered.sort(Comparator.comparingDouble((IMethodInstance m) -> estimate(h, m.getMethod())).reversed());
+
+        int workers = workers(context);
+        LOG.info(String.format(Locale.ROOT, "Ordered %d tests of '%s' longest first; estimated duration on %d "
+                        + "worker(s): %.1f s (declaration order: %.1f s)",
+                ordered.size(), context.getName(), workers,
+                makespanMs(h, ordered, workers) / 1000.0, makespanMs(h, methods, workers) / 1000.0));
+        return ordered;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        boolean before = method.isConfigurationMethod() && method.getTestMethod().isBeforeMethodConfiguration();
+        if (!before && !method.isTestMethod()) return;
+
+        Thread worker = Thread.currentThread();
+        Span span = spans.get(worker);
+        // A further @BeforeMethod of the open span, or the test its @BeforeMethods prepared, continues it
+        boolean continues = span != null && !span.testFinished && (before
+                ? span.beforeSeen < result.getMethod().getTestClass().getBeforeTestMethods().length
+                : span.beforeSeen > 0 && !span.testStarted);
+        if (!continues) {
+            finish(span);
+            span = new Span(System.nanoTime());
+            spans.put(worker, span);
+        }
+        if (before) {
+            span.beforeSeen++;
+        } else {
+            span.testStarted = true;
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        Thread worker = Thread.currentThread();
+        Span span = spans.get(worker);
+        if (span == null) return;
+
+        if (method.isTestMethod()) {
+            span.testClass = result.getTestClass().getRealClass();
+            span.methodName = result.getMethod().getMethodName();
+            span.recordable = result.getStatus() == ITestResult.SUCCESS || result.getStatus() == ITestResult.FAILURE;
+            span.testFinished = true;
+            span.endNanos = System.nanoTime();
+            span.afterRemaining = result.getMethod().getTestClass().getAfterTestMethods().length;
+        } else if (method.isConfigurationMethod() && method.getTestMethod().isAfterMethodConfiguration()
+                && span.testFinished) {
+            span.endNanos = System.nanoTime();
+            span.afterRemaining--;
+        } else {
+            return;
+        }
+        if (span.afterRemaining <= 0) {
+            spans.remove(worker, span);
+            finish(span);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        // Tests whose last @AfterMethod did not run (skipped, or not applicable to them)
+        spans.values().forEach(this::finish);
+        spans.clear();
+        if (recorded) history().save();
+    }
+
+    private void finish(Span span) {
+        if (span == null || !span.testFinished || !span.recordable) return;
+        span.recordable = false;
+        history().record(span.testClass, span.methodName, TimeUnit.NANOSECONDS.toMillis(span.endNanos - span.start));
+        recorded = true;
+    }
+
+    /**
+     * One test on one worker thread, from its first {@code @BeforeMethod} (or the test itself) onwards.
+     */
+    private static final class Span {
+        final long start;
+        int beforeSeen;
+        boolean testStarted;
+        boolean testFinished;
+        boolean recordable;
+        Class<?> testClass;
+        String methodName;
+        long endNanos;
+        int afterRemaining;
+
+        Span(long start) {
+            this.start = start;
+        }
+    }
+
+    private DurationHistory history() {
+        DurationHistory h = history;
+        if (h == null) {
+            synchronized (this) {
+                h = history;
+                if (h == null) {
+                    h = DurationHistory.load(Path.of(Config.orderHistoryFile()));
+                    history = h;
+                }
+            }
+        }
+        return h;
+    }
+
+    private static double estimate(DurationHistory h, ITestNGMethod method) {
+        return h.estimate(method.getRealClass(), method.getMethodName());
+    }
+
+    private static int workers(ITestContext context) {
+        XmlSuite suite = context.getSuite().getXmlSuite();
+        boolean parallel = suite.getParallel() != null && suite.getParallel().isParallel();
+        return parallel ? Math.max(1, suite.getThreadCount()) : 1;
+    }
+
+    /**
+     * Estimated wall time when each method goes to whichever worker frees up first, in the given order.
+     */
+    private static double makespanMs(DurationHistory h, List<IMethodInstance> order, int workers) {
+        PriorityQueue<Double> busyUntil = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) busyUntil.add(0.0);
+        double end = 0;
+        for (IMethodInstance m : order) {
+            double finish = busyUntil.poll() + estimate(h, m.getMethod());
+            busyUntil.add(finish);
+            end = Math.max(end, finish);
+        }
+        return end;
+    }
+}
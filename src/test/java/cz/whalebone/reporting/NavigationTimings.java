@@ -0,0 +1,44 @@
+package cz.whalebone.reporting;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Navigation timing summaries of the running test, kept on its thread instead of being attached to every passing
+ * test.
+ *
+ * <p>{@link UiFailureArtifactsListener} attaches them, as one "Navigation timing" attachment, only if the test
+ * (or one of its configuration methods) fails, and drops them when a test method completes otherwise. A
+ * navigation that exceeds its budget is attached straight away by the page object instead.</p>
+ */
+public final class NavigationTimings {
+
+    private static final int CAPACITY = 20;
+
+    private static final ThreadLocal<Deque<String>> BUFFER = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private NavigationTimings() {
+    }
+
+    /**
+     * Keeps {@code summary} on the current thread, dropping the oldest one beyond the last {@value #CAPACITY}.
+     */
+    public static void buffer(String summary) {
+        Deque<String> buffer = BUFFER.get();
+        if (buffer.size() >= CAPACITY) buffer.removeFirst();
+        buffer.addLast(summary);
+    }
+
+    static void attachBuffered() {
+        Deque<String> buffer = BUFFER.get();
+        if (buffer.isEmpty()) return;
+
+        String summaries = String.join("\n", buffer);
+        buffer.clear();
+        ArtifactPipeline.get().attachText("Navigation timing", "text/plain", ".txt", summaries);
+    }
+
+    static void discardBuffered() {
+        BUFFER.get().clear();
+    }
+}
@@ -22,6 +22,24 @@ public class RetryAnalyzer implements IRetryAnalyzer {
         this.kind = kind;
     }
 
+    /**
+     * Zero-based attempt of the test this analyzer belongs to: 0 for the first run,
+     * 1 for the first retry, and so on.
+     */
+    public int attempt() {
+        return attempt;
+    }
+
+    /**
+     * Returns the attempt number for the test about to run (or just run) in {@code result},
+     * or 0 when the test has no {@link RetryAnalyzer}.
+     */
+    public static int attemptOf(ITestResult result) {
+        if (result == null || result.getMethod() == null) return 0;
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        return (analyzer instanceof RetryAnalyzer r) ? r.attempt() : 0;
+    }
+
     @Override
     public boolean retry(ITestResult result) {
         if (!isRetryable(result)) {
@@ -0,0 +1,205 @@
+package cz.whalebone.reporting;
+
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Low-cost replacement for WebM recording: keeps the last few seconds of a page as
+ * downscaled JPEG frames in a bounded ring buffer and encodes them only when asked.
+ *
+ * <p>Frames come from the Chromium DevTools screencast (already JPEG-compressed and scaled
+ * by the browser), so a passing test costs a frame ack per kept frame and a few MB of heap
+ * at most; nothing is decoded or encoded unless {@link #writeGif(Path)} is called.</p>
+ *
+ * <p>Only Chromium exposes CDP; {@link #start} returns {@code null} for other engines.</p>
+ */
+public final class ScreencastRecorder implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(ScreencastRecorder.class.getName());
+
+    private static final int JPEG_QUALITY = 60;
+    /** Chromium emits screencast frames at up to the display refresh rate. */
+    private static final int SOURCE_FPS = 60;
+
+    private final CDPSession cdp;
+    private final int capacity;
+    private final long minFrameGapMs;
+    private final ArrayDeque<Frame> frames;
+    private long lastKeptAtMs = Long.MIN_VALUE;
+    private boolean stopped;
+
+    private ScreencastRecorder(CDPSession cdp, int seconds, int fps) {
+        this.cdp = cdp;
+        this.capacity = Math.max(1, seconds * fps);
+        this.minFrameGapMs = 1000L / fps;
+        this.frames = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Starts a screencast for {@code page}, or returns {@code null} when the browser does not
+     * support CDP (Firefox, WebKit).
+     */
+    public static ScreencastRecorder start(BrowserContext context, Page page,
+                                           int seconds, int fps, int maxWidth, int maxHeight) {
+        CDPSession cdp;
+        try {
+            cdp = context.newCDPSession(page);
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "CDP not available, screencast disabled", e);
+            return null;
+        }
+
+        ScreencastRecorder recorder = new ScreencastRecorder(cdp, seconds, fps);
+        cdp.on("Page.screencastFrame", recorder::onFrame);
+
+        JsonObject args = new JsonObject();
+        args.addProperty("format", "jpeg");
+        args.addProperty("quality", JPEG_QUALITY);
+        args.addProperty("maxWidth", maxWidth);
+        args.addProperty("maxHeight", maxHeight);
+        // Drop frames in the browser rather than encoding, sending and acking them only to discard them here
+        args.addProperty("everyNthFrame", Math.max(1, SOURCE_FPS / fps));
+        cdp.send("Page.startScreencast", args);
+        return recorder;
+    }
+
+    private void onFrame(JsonObject event) {
+        try {
+            JsonObject ack = new JsonObject();
+            ack.addProperty("sessionId", event.get("sessionId").getAsInt());
+            cdp.send("Page.screencastFrameAck", ack);
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Failed to ack screencast frame", e);
+        }
+
+        // Frames only come on repaint, so every Nth frame can still arrive faster than the target rate
+        long at = frameTimestampMs(event);
+        if (at - lastKeptAtMs < minFrameGapMs) return;
+        lastKeptAtMs = at;
+
+        if (frames.size() == capacity) {
+            frames.removeFirst();
+        }
+        frames.addLast(new Frame(at, event.get("data").getAsString()));
+    }
+
+    private static long frameTimestampMs(JsonObject event) {
+        JsonObject meta = event.getAsJsonObject("metadata");
+        if (meta != null && meta.has("timestamp")) {
+            return (long) (meta.get("timestamp").getAsDouble() * 1000);
+        }
+        return System.currentTimeMillis();
+    }
+
+    public int frameCount() {
+        return frames.size();
+    }
+
+    /**
+     * Encodes the buffered frames into a looping animated GIF. Must be called after {@link #stop()};
+     * once stopped the buffer no longer changes, so encoding may run on another thread.
+     *
+     * @return {@code true} if at least one frame was written
+     */
+    public boolean writeGif(Path target) throws IOException {
+        if (!stopped) throw new IllegalStateException("Screencast must be stopped before encoding");
+        if (frames.isEmpty()) return false;
+
+        ImageWriter writer = ImageIO.getImageWritersBySuffix("gif").next();
+        List<Frame> snapshot = List.copyOf(frames);
+        // Closing an ImageOutputStream does not close the stream it wraps
+        try (OutputStream file = Files.newOutputStream(target);
+             ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(out);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < snapshot.size(); i++) {
+                BufferedImage img = decode(snapshot.get(i));
+                if (img == null) continue;
+                long delayMs = (i + 1 < snapshot.size())
+                        ? snapshot.get(i + 1).timestampMs() - snapshot.get(i).timestampMs()
+                        : minFrameGapMs;
+                writer.writeToSequence(new IIOImage(img, null, gifMetadata(writer, img, delayMs)), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return true;
+    }
+
+    private static BufferedImage decode(Frame frame) throws IOException {
+        BufferedImage jpeg = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(frame.base64Jpeg())));
+        if (jpeg == null) return null;
+        BufferedImage rgb = new BufferedImage(jpeg.getWidth(), jpeg.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.getGraphics().drawImage(jpeg, 0, 0, null);
+        return rgb;
+    }
+
+    private static IIOMetadata gifMetadata(ImageWriter writer, BufferedImage img, long delayMs) throws IOException {
+        IIOMetadata meta = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(img), null);
+        String format = meta.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) meta.getAsTree(format);
+
+        IIOMetadataNode gce = new IIOMetadataNode("GraphicControlExtension");
+        gce.setAttribute("disposalMethod", "none");
+        gce.setAttribute("userInputFlag", "FALSE");
+        gce.setAttribute("transparentColorFlag", "FALSE");
+        gce.setAttribute("delayTime", Long.toString(Math.max(1, Math.min(delayMs / 10, 0xFFFF))));
+        gce.setAttribute("transparentColorIndex", "0");
+        root.appendChild(gce);
+
+        IIOMetadataNode appExtensions = new IIOMetadataNode("ApplicationExtensions");
+        IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+        loop.setAttribute("applicationID", "NETSCAPE");
+        loop.setAttribute("authenticationCode", "2.0");
+        loop.setUserObject(new byte[]{1, 0, 0});
+        appExtensions.appendChild(loop);
+        root.appendChild(appExtensions);
+
+        meta.setFromTree(format, root);
+        return meta;
+    }
+
+    /**
+     * Stops receiving frames. Talks to the browser, so it must run on the test thread.
+     */
+    public void stop() {
+        if (stopped) return;
+        stopped = true;
+        try {
+            cdp.send("Page.stopScreencast");
+            cdp.detach();
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Failed to stop screencast", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    private record Frame(long timestampMs, String base64Jpeg) {
+    }
+}
@@ -0,0 +1,133 @@
+package cz.whalebone.reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.Step;
+import io.qameta.allure.model.Parameter;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.util.ObjectUtils;
+import io.qameta.allure.util.ResultsUtils;
+import net.bytebuddy.implementation.bind.annotation.AllArguments;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Target of every {@code @Step} override generated by {@link StepProxies}.
+ *
+ * <p>Each call becomes an Allure step with its formatted name and parameters, and is timed with
+ * {@link System#nanoTime()} into the thread's {@link StepTimings}. Outside a running Allure test (e.g. on worker
+ * threads) the method is called straight through.</p>
+ *
+ * <p>Step names follow Allure: {@code {name}} is replaced by the parameter of that name (the test sources are
+ * compiled with {@code -parameters}), {@code {0}} by the parameter at that index.</p>
+ */
+final class StepInterceptor {
+
+    private static final Map<Method, StepName> NAMES = new ConcurrentHashMap<>();
+
+    private StepInterceptor() {
+    }
+
+    @RuntimeType
+    static Object intercept(@Origin Method method, @AllArguments Object[] args,
+                            @SuperCall Callable<?> body) throws Exception {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) return body.call();
+
+        StepName name = NAMES.computeIfAbsent(method, StepName::new);
+        String title = name.format(args);
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.startStep(uuid, new StepResult().setName(title).setParameters(name.parameters(args)));
+
+        StepTimings.Span span = StepTimings.start(title);
+        try {
+            Object result = body.call();
+            lifecycle.updateStep(uuid, s -> s.setStatus(Status.PASSED));
+            if (span != null) span.end(true);
+            return result;
+        } catch (Throwable t) {
+            lifecycle.updateStep(uuid, s -> s
+                    .setStatus(ResultsUtils.getStatus(t).orElse(Status.BROKEN))
+                    .setStatusDetails(ResultsUtils.getStatusDetails(t).orElse(null)));
+            if (span != null) span.end(false);
+            throw t;
+        } finally {
+            lifecycle.stopStep(uuid);
+        }
+    }
+
+    /**
+     * A step's name template, split once per method into literals and parameter references.
+     */
+    private static final class StepName {
+        private final String[] literals;
+        private final int[] refs; // parameter index per placeholder, -1 if it names no parameter
+        private final String[] placeholders;
+        private final String[] parameterNames;
+
+        StepName(Method method) {
+            java.lang.reflect.Parameter[] params = method.getParameters();
+            parameterNames = new String[params.length];
+            for (int i = 0; i < params.length; i++) parameterNames[i] = params[i].getName();
+
+            String template = method.getAnnotation(Step.class).value();
+            if (template.isEmpty()) template = method.getName();
+
+            List<String> lits = new ArrayList<>();
+            List<String> holders = new ArrayList<>();
+            int from = 0;
+            for (int open = template.indexOf('{'); open >= 0; open = template.indexOf('{', from)) {
+                int close = template.indexOf('}', open);
+                if (close < 0) break;
+                lits.add(template.substring(from, open));
+                holders.add(template.substring(open + 1, close));
+                from = close + 1;
+            }
+            lits.add(template.substring(from));
+
+            literals = lits.toArray(String[]::new);
+            placeholders = holders.toArray(String[]::new);
+            refs = new int[placeholders.length];
+            for (int i = 0; i < placeholders.length; i++) refs[i] = indexOf(placeholders[i]);
+        }
+
+        private int indexOf(String placeholder) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i].equals(placeholder)) return i;
+            }
+            try {
+                int index = Integer.parseInt(placeholder);
+                return index >= 0 && index < parameterNames.length ? index : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        String format(Object[] args) {
+            StringBuilder sb = new StringBuilder(literals[0]);
+            for (int i = 0; i < refs.length; i++) {
+                sb.append(refs[i] >= 0 ? ObjectUtils.toString(args[refs[i]]) : "{" + placeholders[i] + "}");
+                sb.append(literals[i + 1]);
+            }
+            return sb.toString();
+        }
+
+        List<Parameter> parameters(Object[] args) {
+            List<Parameter> out = new ArrayList<>(args.length);
+            for (int i = 0; i < args.length; i++) {
+                out.add(new Parameter().setName(parameterNames[i]).setValue(ObjectUtils.toString(args[i])));
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package cz.whalebone.reporting;
+
+import io.qameta.allure.Step;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+
+/**
+ * Records Allure {@link Step} methods without the AspectJ weaver.
+ *
+ * <p>{@link #create} instantiates a subclass of the given type, generated once per type with Byte Buddy, that
+ * overrides every public and protected {@code @Step} method (including inherited ones, and calls through
+ * {@code this}) and hands it to {@link StepInterceptor}. The subclasses are defined in this package, next to the
+ * interceptor, so the type and its constructor must be public; package-private, private, static and final
+ * methods are not recorded.</p>
+ *
+ * <p>Objects created with {@code new} are not recorded, and running with the AspectJ agent as well would record
+ * steps twice.</p>
+ */
+public final class StepProxies {
+
+    private static final ClassValue<Class<?>> PROXY_TYPES = new ClassValue<>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            return generate(type);
+        }
+    };
+
+    private StepProxies() {
+    }
+
+    /**
+     * Creates a step-recording instance of {@code type} through its constructor matching {@code args}.
+     */
+    public static <T> T create(Class<T> type, Object... args) {
+        Constructor<?> constructor = constructorFor(PROXY_TYPES.get(type), args);
+        try {
+            return type.cast(constructor.newInstance(args));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException("Cannot create " + type.getName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.getName(), e);
+        }
+    }
+
+    private static Class<?> generate(Class<?> type) {
+        return new ByteBuddy()
+                .subclass(type)
+                .name(StepProxies.class.getPackageName() + ".Steps$" + type.getName().replace('.', '$'))
+                .method(isAnnotatedWith(Step.class))
+                .intercept(MethodDelegation.to(StepInterceptor.class))
+                .make()
+                .load(StepProxies.class.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(MethodHandles.lookup()))
+                .getLoaded();
+    }
+
+    private static Constructor<?> constructorFor(Class<?> proxyType, Object[] args) {
+        Constructor<?> match = null;
+        for (Constructor<?> c : proxyType.getDeclaredConstructors()) {
+            if (!accepts(c.getParameterTypes(), args)) continue;
+            if (match != null) {
+                throw new IllegalArgumentException("Ambiguous constructor of " + proxyType.getSuperclass().getName()
+                        + " for " + Arrays.toString(args));
+            }
+            match = c;
+        }
+        if (match == null) {
+            throw new IllegalArgumentException("No constructor of " + proxyType.getSuperclass().getName()
+                    + " for " + Arrays.toString(args));
+        }
+        match.setAccessible(true);
+        return match;
+    }
+
+    private static boolean accepts(Class<?>[] types, Object[] args) {
+        if (types.length != args.length) return false;
+        for (int i = 0; i < types.length; i++) {
+            if (args[i] == null ? types[i].isPrimitive() : !box(types[i]).isInstance(args[i])) return false;
+        }
+        return true;
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        return Character.class;
+    }
+}
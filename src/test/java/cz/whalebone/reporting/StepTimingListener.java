@@ -0,0 +1,24 @@
+package cz.whalebone.reporting;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Scopes {@link StepTimings} to each test method and attaches the summary right after it, so it shows under
+ * the test rather than its teardown (see {@link UiFailureArtifactsListener}).
+ */
+public class StepTimingListener implements IInvokedMethodListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) StepTimings.begin();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) return;
+        StepTimings.attach();
+        StepTimings.end();
+    }
+}
@@ -0,0 +1,116 @@
+package cz.whalebone.reporting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-thread record of the {@code @Step} calls made by the running test (see {@link StepProxies}), with
+ * {@link System#nanoTime()} start and end, nesting depth and outcome.
+ *
+ * <p>Steps are only recorded between {@link #begin()} and {@link #end()}, which {@link StepTimingListener} calls
+ * around each test method before attaching {@link #summary()}, so a slow page-object action stands out without
+ * opening every step.</p>
+ */
+public final class StepTimings {
+
+    private static final int SLOWEST = 5;
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private StepTimings() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new Recording());
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the started span, or {@code null} outside {@link #begin()} / {@link #end()}
+     */
+    static Span start(String name) {
+        Recording recording = CURRENT.get();
+        if (recording == null) return null;
+        Span span = new Span(recording, name, recording.depth++, System.nanoTime());
+        recording.spans.add(span);
+        return span;
+    }
+
+    /**
+     * Chronological step tree with start offsets and durations, followed by the slowest steps;
+     * {@code null} if no step was recorded.
+     */
+    public static String summary() {
+        Recording recording = CURRENT.get();
+        if (recording == null || recording.spans.isEmpty()) return null;
+
+        List<Span> spans = recording.spans;
+
+        long origin = spans.get(0).startNanos;
+        long topLevel = spans.stream().filter(s -> s.depth == 0).mapToLong(Span::durationNanos).sum();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(spans.size()).append(" steps, ").append(ms(topLevel)).append(" ms in top-level steps\n\n");
+        sb.append(String.format(Locale.ROOT, "%12s %12s  %s%n", "start ms", "duration ms", "step"));
+        for (Span s : spans) {
+            sb.append(String.format(Locale.ROOT, "%12s %12s  %s%s%s%n", ms(s.startNanos - origin),
+                    ms(s.durationNanos()), "  ".repeat(s.depth), s.name, s.passed ? "" : "  [failed]"));
+        }
+
+        sb.append("\nSlowest:\n");
+        spans.stream()
+                .sorted(Comparator.comparingLong(Span::durationNanos).reversed())
+                .limit(SLOWEST)
+                .forEach(s -> sb.append(String.format(Locale.ROOT, "%12s ms  %s%n", ms(s.durationNanos()), s.name)));
+        return sb.toString();
+    }
+
+    /**
+     * Attaches {@link #summary()} to the running test, if any step was recorded.
+     */
+    public static void attach() {
+        String summary = summary();
+        if (summary != null) {
+            ArtifactPipeline.get().attachText("Step timings", "text/plain", ".txt", summary);
+        }
+    }
+
+    private static String ms(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static final class Recording {
+        private final List<Span> spans = new ArrayList<>();
+        private int depth;
+    }
+
+    static final class Span {
+        private final Recording recording;
+        private final String name;
+        private final int depth;
+        private final long startNanos;
+        private long endNanos = -1;
+        private boolean passed;
+
+        private Span(Recording recording, String name, int depth, long startNanos) {
+            this.recording = recording;
+            this.name = name;
+            this.depth = depth;
+            this.startNanos = startNanos;
+        }
+
+        void end(boolean passed) {
+            this.endNanos = System.nanoTime();
+            this.passed = passed;
+            recording.depth = depth;
+        }
+
+        private long durationNanos() {
+            return (endNanos < 0 ? System.nanoTime() : endNanos) - startNanos;
+        }
+    }
+}
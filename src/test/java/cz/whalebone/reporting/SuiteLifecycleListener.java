@@ -0,0 +1,45 @@
+package cz.whalebone.reporting;
+
+import cz.whalebone.config.Config;
+import cz.whalebone.support.ApiClients;
+import cz.whalebone.support.BrowserPool;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.time.Duration;
+
+/**
+ * Prepares suite-scoped resources before the first test and releases them once every
+ * test in the suite has finished.
+ *
+ * <p>The first thing it does is build the {@link Config} snapshot, so an invalid or misspelled setting fails
+ * the run before the artifact store, the API stand-in or any browser is touched.</p>
+ *
+ * <p>Pooled browsers outlive individual tests, so nothing in the per-test teardown
+ * closes them; this listener does it after the last worker is done. It is also the
+ * flush barrier for attachments still being written by the {@link ArtifactPipeline}.
+ * When {@code stub.enabled=true} the API stand-in is started here, before the first
+ * test, and stopped at the end; with {@code api.warmUp=true} the API connection is
+ * opened here too.</p>
+ */
+public class SuiteLifecycleListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        Config.init();
+        ArtifactStore.get().prune();
+        if (Config.stubEnabled()) {
+            ApiClients.baseUrl();
+        }
+        if (Config.apiWarmUp()) {
+            ApiClients.warmUp();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ArtifactPipeline.get().flush(Duration.ofSeconds(Config.artifactsFlushTimeoutSec()));
+        BrowserPool.shutdown();
+        ApiClients.shutdown();
+    }
+}
@@ -5,16 +5,13 @@ import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Tracing;
 import com.microsoft.playwright.Video;
 import cz.whalebone.config.Config;
-import io.qameta.allure.Allure;
 import org.testng.IInvokedMethod;
 import org.testng.IInvokedMethodListener;
 import org.testng.ITestResult;
 
-import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,6 +24,9 @@ import java.util.logging.Logger;
  * which makes Allure group attachments under the "Tear down" fixture.
  * {@link IInvokedMethodListener#afterInvocation} runs immediately after the test method,
  * before teardown, so attachments are displayed under the test itself.
+ *
+ * Only the browser calls (DOM, screenshot, stopping trace/screencast) happen on the test thread;
+ * writing the results to disk is handed off to the {@link ArtifactPipeline}.
  */
 public class UiFailureArtifactsListener implements IInvokedMethodListener {
 
@@ -34,22 +34,43 @@ public class UiFailureArtifactsListener implements IInvokedMethodListener {
 
     @Override
     public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (result.getStatus() == ITestResult.FAILURE) {
+            NavigationTimings.attachBuffered();
+        } else if (method.isTestMethod()) {
+            NavigationTimings.discardBuffered();
+        }
+
         if (!method.isTestMethod()) return;
         if (result.getStatus() != ITestResult.FAILURE) return;
 
         Object instance = result.getInstance();
         BrowserContext ctx = (instance instanceof HasBrowserContext h) ? h.getBrowserContext() : null;
         Page page = (instance instanceof HasPage p) ? p.getPage() : null;
+        CapturePlan plan = (instance instanceof HasCapturePlan c) ? c.getCapturePlan() : null;
+        boolean traced = plan != null && plan.trace();
+        boolean recorded = plan != null && plan.video();
+        ScreencastRecorder screencast = (instance instanceof HasScreencast s) ? s.getScreencast() : null;
+
+        ArtifactPipeline artifacts = ArtifactPipeline.get();
+        ArtifactStore store = ArtifactStore.get();
 
         // 1) Always try to attach quick context first (URL/DOM/screenshot)
+        // DOM and screenshot go to scratch files right away, so the pipeline queue holds paths, not page-sized buffers
         if (page != null) {
-            attachText("URL on failure", safe(page::url));
-            attachHtml("DOM snapshot (HTML)", safe(page::content));
+            artifacts.attachText("URL on failure", "text/plain", ".txt", safe(page::url));
+            try {
+                Path dom = store.tempFile(".html");
+                Files.writeString(dom, page.content(), StandardCharsets.UTF_8);
+                artifacts.attachFile("DOM snapshot (HTML)", "text/html", ".html", dom);
+            } catch (Exception e) {
+                LOG.log(Level.FINE, "Failed to capture DOM snapshot", e);
+            }
 
             if (Config.uiScreenshotOnFailure()) {
                 try {
-                    byte[] png = page.screenshot(new Page.ScreenshotOptions().setFullPage(true));
-                    Allure.addAttachment("Screenshot on failure", "image/png", new ByteArrayInputStream(png), ".png");
+                    Path png = store.tempFile(".png");
+                    page.screenshot(new Page.ScreenshotOptions().setFullPage(true).setPath(png));
+                    artifacts.attachFile("Screenshot on failure", "image/png", ".png", png);
                 } catch (Exception e) {
                     LOG.log(Level.FINE, "Failed to capture screenshot", e);
                 }
@@ -57,27 +78,39 @@ public class UiFailureArtifactsListener implements IInvokedMethodListener {
         }
 
         // 2) Trace (must be stopped while context is still alive)
-        if (Config.uiTraceOnFailure() && ctx != null) {
+        if (traced && ctx != null) {
             try {
-                Path traceZip = uniqueArtifactPath(result, "trace.zip");
-                Files.createDirectories(traceZip.getParent());
+                Path traceZip = store.tempFile(".zip");
                 ctx.tracing().stop(new Tracing.StopOptions().setPath(traceZip));
-                attachFile("Playwright trace", "application/zip", traceZip, ".zip");
+                artifacts.attachFile("Playwright trace", "application/zip", ".zip", traceZip);
             } catch (Exception e) {
                 LOG.log(Level.FINE, "Failed to stop/attach tracing", e);
             }
         }
 
-        // 3) Video (finalizes only after page/context close)
+        // 3a) Screencast ring buffer: stop it here, encode the last few seconds in the background
+        if (screencast != null) {
+            try {
+                screencast.stop();
+                if (screencast.frameCount() > 0) {
+                    artifacts.attachGenerated("Screencast", "image/gif", ".gif",
+                            store.tempFile(".gif"), screencast::writeGif);
+                }
+            } catch (Exception e) {
+                LOG.log(Level.FINE, "Failed to encode/attach screencast", e);
+            }
+        }
+
+        // 3b) WebM video (finalizes only after page/context close)
         // To keep it visible at test-level, we finalize the video here (close the page) after taking screenshot/DOM.
-        if (Config.uiVideoOnFailure() && page != null) {
+        if (recorded && screencast == null && page != null) {
             try {
                 Video video = page.video();
                 page.close();
                 if (video != null) {
                     Path videoPath = video.path();
                     if (videoPath != null && Files.exists(videoPath)) {
-                        attachFile("Video", "video/webm", videoPath, ".webm");
+                        artifacts.attachFile("Video", "video/webm", ".webm", videoPath);
                     }
                 }
             } catch (Exception e) {
@@ -86,46 +119,6 @@ public class UiFailureArtifactsListener implements IInvokedMethodListener {
         }
     }
 
-    private static void attachText(String name, String value) {
-        if (value == null || value.isBlank()) return;
-        try {
-            Allure.addAttachment(name, "text/plain",
-                    new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8)), ".txt");
-        } catch (Exception e) {
-            LOG.log(Level.FINE, "Failed to attach text: " + name, e);
-        }
-    }
-
-    private static void attachHtml(String name, String value) {
-        if (value == null || value.isBlank()) return;
-        try {
-            Allure.addAttachment(name, "text/html",
-                    new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8)), ".html");
-        } catch (Exception e) {
-            LOG.log(Level.FINE, "Failed to attach html: " + name, e);
-        }
-    }
-
-    private static void attachFile(String name, String mime, Path path, String ext) {
-        try {
-            Allure.addAttachment(name, mime, Files.newInputStream(path), ext);
-        } catch (Exception e) {
-            LOG.log(Level.FINE, "Failed to attach file: " + name + " from " + path, e);
-        }
-    }
-
-    private static Path uniqueArtifactPath(ITestResult result, String fileName) {
-        String safeTestName = sanitize(result.getTestClass().getName() + "." + result.getMethod().getMethodName()
-                + "#" + result.getMethod().getCurrentInvocationCount());
-        String ts = java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS")
-                .format(java.time.LocalDateTime.now());
-        return Paths.get(Config.artifactsDir()).resolve(safeTestName).resolve(ts).resolve(fileName);
-    }
-
-    private static String sanitize(String s) {
-        return s.replaceAll("[^a-zA-Z0-9._-]+", "_");
-    }
-
     private interface ThrowingSupplier<T> {
         T get() throws Exception;
     }
@@ -0,0 +1,80 @@
+package cz.whalebone.support;
+
+import cz.whalebone.api.client.ResponseCache;
+import cz.whalebone.api.client.TeamsApiClient;
+import cz.whalebone.api.client.Transport;
+import cz.whalebone.api.stub.TeamsStubServer;
+import cz.whalebone.config.Config;
+import cz.whalebone.reporting.StepProxies;
+
+/**
+ * Suite-scoped API clients shared by API and UI tests.
+ *
+ * <p>All callers get the same {@link TeamsApiClient}; with {@code api.cache.enabled=true} it reads
+ * through one {@link ResponseCache}, so {@code GET /api/teams} is fetched once per TTL no matter how
+ * many test methods or threads ask for it.</p>
+ *
+ * <p>Clients share one {@link Transport} ({@code api.transport}), and with it one
+ * connection pool across all test threads.</p>
+ *
+ * <p>With {@code stub.enabled=true} the clients talk to an in-JVM {@link TeamsStubServer} instead of
+ * {@code api.baseUrl}; it is started on first use and stopped by {@link #shutdown()}.</p>
+ */
+public final class ApiClients {
+
+    private static final ResponseCache CACHE = new ResponseCache(Config.apiCacheTtlMs());
+    private static volatile TeamsApiClient teams;
+    private static volatile TeamsStubServer stub;
+
+    private ApiClients() {
+    }
+
+    public static TeamsApiClient teams() {
+        TeamsApiClient client = teams;
+        if (client == null) {
+            synchronized (ApiClients.class) {
+                client = teams;
+                if (client == null) {
+                    client = StepProxies.create(TeamsApiClient.class, baseUrl(),
+                            Config.apiCacheEnabled() ? CACHE : null);
+                    teams = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * {@code api.baseUrl}, or the stand-in's address when {@code stub.enabled=true} (starting it if needed).
+     */
+    public static String baseUrl() {
+        if (!Config.stubEnabled()) return Config.apiBaseUrl();
+
+        TeamsStubServer server = stub;
+        if (server == null) {
+            synchronized (ApiClients.class) {
+                server = stub;
+                if (server == null) {
+                    server = TeamsStubServer.start(TeamsStubServer.Settings.fromConfig());
+                    stub = server;
+                }
+            }
+        }
+        return server.baseUrl();
+    }
+
+    /**
+     * Opens the shared transport's first connection (DNS, TCP, TLS) so the first test does not pay for it.
+     */
+    public static void warmUp() {
+        teams().warmUp();
+    }
+
+    public static synchronized void shutdown() {
+        if (stub != null) {
+            stub.close();
+            stub = null;
+            teams = null;
+        }
+    }
+}
@@ -7,8 +7,13 @@ import cz.whalebone.config.Config;
 import cz.whalebone.context.GUIContext;
 import cz.whalebone.context.TestContext;
 import cz.whalebone.reporting.BaseListeners;
+import cz.whalebone.reporting.CapturePlan;
 import cz.whalebone.reporting.HasBrowserContext;
+import cz.whalebone.reporting.HasCapturePlan;
+import cz.whalebone.reporting.HasHarSession;
 import cz.whalebone.reporting.HasPage;
+import cz.whalebone.reporting.HasScreencast;
+import cz.whalebone.reporting.ScreencastRecorder;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -18,7 +23,8 @@ import java.util.Objects;
 /**
  * Base class for all UI tests.
  */
-public abstract class BaseUiTest extends BaseListeners implements HasPage, HasBrowserContext {
+public abstract class BaseUiTest extends BaseListeners implements HasPage, HasBrowserContext, HasCapturePlan, HasScreencast,
+        HasHarSession {
 
     private static final ThreadLocal<TestContext> CTX = new ThreadLocal<>();
     private static final ThreadLocal<PlaywrightFixture> FIXTURE = new ThreadLocal<>();
@@ -39,7 +45,7 @@ public abstract class BaseUiTest extends BaseListeners implements HasPage, HasBr
     }
 
     protected final TeamsApiClient apiClient() {
-        return new TeamsApiClient(Config.apiBaseUrl());
+        return ApiClients.teams();
     }
 
     @Override
@@ -54,12 +60,33 @@ public abstract class BaseUiTest extends BaseListeners implements HasPage, HasBr
         return (tc != null && tc.getGui() != null) ? tc.getGui().context : null;
     }
 
+    @Override
+    public CapturePlan getCapturePlan() {
+        PlaywrightFixture fixture = FIXTURE.get();
+        return fixture != null ? fixture.capturePlan() : null;
+    }
+
+    @Override
+    public ScreencastRecorder getScreencast() {
+        PlaywrightFixture fixture = FIXTURE.get();
+        return fixture != null ? fixture.screencast() : null;
+    }
+
+    @Override
+    public HarSession getHarSession() {
+        PlaywrightFixture fixture = FIXTURE.get();
+        return fixture != null ? fixture.har() : null;
+    }
+
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
-        TestContext ctx = new TestContext(Config.apiBaseUrl(), Config.uiBaseUrl());
+    public void setUp(ITestResult result) {
+        TestContext ctx = new TestContext(ApiClients.baseUrl(), Config.uiBaseUrl());
         CTX.set(ctx);
 
-        PlaywrightFixture fixture = new PlaywrightFixture();
+        Class<?> testClass = result.getTestClass().getRealClass();
+        PlaywrightFixture fixture = new PlaywrightFixture(CapturePlan.forAttempt(result),
+                RoutePolicy.forClass(testClass),
+                HarSession.fileFor(testClass, result.getMethod().getMethodName()));
         FIXTURE.set(fixture);
         ctx.setGui(fixture.gui());
     }
@@ -0,0 +1,38 @@
+package cz.whalebone.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Network blocking policy for every UI test in the annotated class, instead of the {@code ui.block.*}
+ * configuration (see {@link RoutePolicy}). {@code ui.block.allowHosts} still applies.
+ *
+ * <pre>{@code
+ * @BlockResources(RoutePolicy.Preset.LEAN)
+ * public class RosterScrapeTests extends BaseUiTest { ... }
+ * }</pre>
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BlockResources {
+
+    RoutePolicy.Preset value() default RoutePolicy.Preset.MEDIA;
+
+    /**
+     * Playwright resource types blocked in addition to the preset.
+     */
+    String[] resourceTypes() default {};
+
+    /**
+     * URL globs blocked in addition to the preset.
+     */
+    String[] urlPatterns() default {};
+
+    boolean thirdParty() default false;
+
+    RoutePolicy.Action action() default RoutePolicy.Action.ABORT;
+}
@@ -0,0 +1,185 @@
+package cz.whalebone.support;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import cz.whalebone.config.Config;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps one {@link Playwright} driver and one {@link Browser} per worker thread for the whole suite.
+ *
+ * <p>Playwright objects are not thread-safe, so the pool is a set of thread-confined slots rather
+ * than a shared queue: each TestNG worker launches its browser on first use and reuses it for every
+ * following test, which then only pays for a fresh {@code BrowserContext}.</p>
+ *
+ * <p>A slot is recycled (driver and browser closed, relaunched on next use) when:
+ * <ul>
+ *   <li>it has served {@code ui.browser.recycleAfter} tests (0 = never)</li>
+ *   <li>the browser disconnected or a page crashed during the last test</li>
+ * </ul>
+ * All remaining slots are closed by {@link #shutdown()} at suite end; a slot still leased by a thread that
+ * outlived its tests is closed by that thread when it releases it.</p>
+ */
+public final class BrowserPool {
+
+    private static final Logger LOG = Logger.getLogger(BrowserPool.class.getName());
+
+    private static final ThreadLocal<Slot> SLOT = new ThreadLocal<>();
+    private static final Set<Slot> ALL = ConcurrentHashMap.newKeySet();
+
+    private BrowserPool() {
+    }
+
+    /**
+     * Returns the calling thread's browser, launching (or relaunching) it if needed.
+     */
+    public static Browser acquire() {
+        Slot slot = SLOT.get();
+        if (slot != null && (!slot.browser.isConnected() || !slot.lease())) {
+            LOG.info("Pooled browser disconnected or shut down, relaunching");
+            retire(slot);
+            slot = null;
+        }
+        if (slot == null) {
+            slot = new Slot();
+            SLOT.set(slot);
+            ALL.add(slot);
+            slot.lease();
+        }
+        return slot.browser;
+    }
+
+    /**
+     * Hands the calling thread's browser back after a test; recycles it if it crashed or
+     * reached its lease limit.
+     */
+    public static void release(boolean crashed) {
+        Slot slot = SLOT.get();
+        if (slot == null) return;
+
+        boolean shutDown = slot.unlease();
+        int recycleAfter = Config.uiBrowserRecycleAfter();
+        if (shutDown || crashed || !slot.browser.isConnected()
+                || (recycleAfter > 0 && slot.leases >= recycleAfter)) {
+            retire(slot);
+        }
+    }
+
+    /**
+     * Closes the calling thread's browser, if any. For worker threads that are about to end, so their
+     * browsers don't stay open until {@link #shutdown()}.
+     */
+    public static void discard() {
+        Slot slot = SLOT.get();
+        if (slot != null) retire(slot);
+    }
+
+    /**
+     * Closes every pooled browser that is not leased. Called once all tests have finished; a browser still
+     * leased (e.g. by a roster worker that missed its deadline) is left to its thread, which closes it on
+     * {@link #release}.
+     */
+    public static void shutdown() {
+        for (Slot slot : ALL) {
+            if (!slot.closeUnlessLeased()) {
+                LOG.warning("Pooled browser still in use at shutdown; its thread closes it on release");
+            }
+        }
+        ALL.clear();
+    }
+
+    static Browser launch(Playwright pw) {
+        String browserName = Config.uiBrowser().trim().toLowerCase(Locale.ROOT);
+
+        BrowserType browserType = switch (browserName) {
+            case "firefox" -> pw.firefox();
+            case "webkit", "safari" -> pw.webkit();
+            default -> pw.chromium();
+        };
+
+        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
+                .setHeadless(!Config.uiHeaded())
+                .setSlowMo(Config.uiSlowMoMs());
+
+        String channel = Config.uiBrowserChannel();
+        if (channel != null && !channel.isBlank()) {
+            launchOptions.setChannel(channel);
+        }
+
+        return browserType.launch(launchOptions);
+    }
+
+    private static void retire(Slot slot) {
+        SLOT.remove();
+        ALL.remove(slot);
+        slot.close();
+    }
+
+    private static final class Slot {
+        private final Playwright playwright;
+        private final Browser browser;
+        private int leases;
+        // Guarded by this: shutdown() runs on another thread than the slot's owner
+        private boolean leased;
+        private boolean closeOnRelease;
+        private boolean closed;
+
+        private Slot() {
+            this.playwright = Playwright.create();
+            try {
+                this.browser = launch(playwright);
+            } catch (RuntimeException e) {
+                closeQuietly(playwright);
+                throw e;
+            }
+        }
+
+        /**
+         * @return {@code false} if the slot was closed by {@link #shutdown()}
+         */
+        private synchronized boolean lease() {
+            if (closed) return false;
+            leased = true;
+            leases++;
+            return true;
+        }
+
+        /**
+         * @return whether {@link #shutdown()} asked for the slot to be closed while it was leased
+         */
+        private synchronized boolean unlease() {
+            leased = false;
+            return closeOnRelease;
+        }
+
+        private synchronized boolean closeUnlessLeased() {
+            if (leased) {
+                closeOnRelease = true;
+                return false;
+            }
+            close();
+            return true;
+        }
+
+        private synchronized void close() {
+            if (closed) return;
+            closed = true;
+            closeQuietly(browser);
+            closeQuietly(playwright);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable c) {
+        try {
+            if (c != null) c.close();
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Failed to close pooled resource", e);
+        }
+    }
+}
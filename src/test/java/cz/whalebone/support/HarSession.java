@@ -0,0 +1,161 @@
+package cz.whalebone.support;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import cz.whalebone.config.Config;
+import cz.whalebone.reporting.ArtifactPipeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records a browser context's network traffic to a HAR file, or serves it back from one.
+ *
+ * <p>Each test has its own file, {@code <ui.har.dir>/<TestClass>/<testMethod>.har}, so a class's recordings live
+ * together and a test can be re-recorded on its own. Recording rewrites the file when the context closes.</p>
+ *
+ * <p>On replay, requests found in the HAR are answered from it without touching the network. The others reach a
+ * catch-all route registered before the HAR route, which applies the {@link NotFound} rule and remembers their
+ * URLs. Routes registered later (e.g. a {@link RouteBlocker}) run first, so blocked requests are neither recorded
+ * nor looked up.</p>
+ */
+public final class HarSession {
+
+    private static final int MAX_LISTED = 50;
+
+    public enum Mode {
+        /** Live network, nothing recorded. */
+        OFF,
+        /** Live network, traffic saved to the test's HAR. */
+        RECORD,
+        /** Responses served from the test's HAR. */
+        REPLAY
+    }
+
+    /** What a replayed context does with a request the HAR has no entry for. */
+    public enum NotFound {
+        /** Abort it and fail the test (see {@link cz.whalebone.reporting.HarReplayListener}). */
+        FAIL,
+        /** Send it to the live network. */
+        PASSTHROUGH,
+        /** Abort it, as if the network were down. */
+        ABORT
+    }
+
+    private final Mode mode;
+    private final NotFound notFound;
+    private final Path file;
+    private final List<String> unmatched = new ArrayList<>();
+
+    private HarSession(Mode mode, NotFound notFound, Path file) {
+        this.mode = mode;
+        this.notFound = notFound;
+        this.file = file;
+    }
+
+    public static Mode configuredMode() {
+        return Mode.valueOf(Config.uiHarMode().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * HAR file of one test, whether or not it exists yet.
+     */
+    public static Path fileFor(Class<?> testClass, String testMethod) {
+        return Path.of(Config.uiHarDir(), testClass.getSimpleName(), testMethod + ".har");
+    }
+
+    /**
+     * Installs recording or replay of {@code file} on the context according to {@code ui.har.*}. Must be called
+     * before routes that should run ahead of it.
+     *
+     * @return the session, or {@code null} when {@code ui.har.mode=off}
+     * @throws IllegalStateException on replay of a test that has no recording
+     */
+    public static HarSession install(BrowserContext context, Path file) {
+        Mode mode = configuredMode();
+        if (mode == Mode.OFF) return null;
+
+        HarSession session = new HarSession(mode,
+                NotFound.valueOf(Config.uiHarNotFound().toUpperCase(Locale.ROOT)), file);
+        if (mode == Mode.RECORD) {
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create HAR directory for " + file, e);
+            }
+            context.routeFromHAR(file, new BrowserContext.RouteFromHAROptions()
+                    .setUpdate(true)
+                    .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED)
+                    .setUpdateMode(HarMode.MINIMAL));
+        } else {
+            if (!Files.isRegularFile(file)) {
+                throw new IllegalStateException("No HAR recorded at " + file.toAbsolutePath()
+                        + "; run the test once with -Dui.har.mode=record");
+            }
+            context.route("**/*", session::handleUnmatched);
+            context.routeFromHAR(file, new BrowserContext.RouteFromHAROptions().setNotFound(HarNotFound.FALLBACK));
+        }
+        return session;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * URLs requested during replay that the HAR had no entry for, in request order.
+     */
+    public List<String> unmatched() {
+        return List.copyOf(unmatched);
+    }
+
+    /**
+     * Whether the test should fail: a replay under {@link NotFound#FAIL} met requests that were not recorded.
+     */
+    public boolean failsTest() {
+        return mode == Mode.REPLAY && notFound == NotFound.FAIL && !unmatched.isEmpty();
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder()
+                .append(mode == Mode.RECORD ? "Recorded to " : "Replayed from ").append(file.toAbsolutePath())
+                .append('\n');
+        if (mode == Mode.REPLAY) {
+            sb.append(unmatched.size()).append(" requests not in the HAR (")
+                    .append(notFound.name().toLowerCase(Locale.ROOT)).append(")\n");
+            unmatched.stream().limit(MAX_LISTED).forEach(url -> sb.append("  ").append(url).append('\n'));
+            if (unmatched.size() > MAX_LISTED) sb.append("  ...\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Attaches {@link #summary()} to the running test when a replay met unrecorded requests.
+     */
+    public void attachReport() {
+        if (!unmatched.isEmpty()) {
+            ArtifactPipeline.get().attachText("HAR replay misses", "text/plain", ".txt", summary());
+        }
+    }
+
+    private void handleUnmatched(Route route) {
+        unmatched.add(route.request().method() + " " + route.request().url());
+        if (notFound == NotFound.PASSTHROUGH) {
+            route.fallback();
+        } else {
+            route.abort("internetdisconnected");
+        }
+    }
+}
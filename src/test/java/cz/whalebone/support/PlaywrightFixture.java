@@ -3,12 +3,12 @@ package cz.whalebone.support;
 import com.microsoft.playwright.*;
 import cz.whalebone.config.Config;
 import cz.whalebone.context.GUIContext;
+import cz.whalebone.reporting.ArtifactStore;
+import cz.whalebone.reporting.CapturePlan;
+import cz.whalebone.reporting.ScreencastRecorder;
 import org.testng.ITestResult;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,45 +21,90 @@ import java.util.logging.Logger;
  *   <li>Best-effort artifacts on failure without masking the test failure</li>
  *   <li>Predictable close order (page -> context -> browser -> playwright)</li>
  * </ul>
+ *
+ * <p>With {@code ui.browser.pooled=true} (default) the browser comes from the per-thread
+ * {@link BrowserPool} and only the context and page are owned by the fixture; otherwise a
+ * dedicated driver and browser are launched and closed with the test.</p>
+ *
+ * <p>The context gets the test's {@link RoutePolicy} through a {@link RouteBlocker}; what it blocked is attached
+ * to the test when it closes.</p>
+ *
+ * <p>With {@code ui.har.mode} set, the context records its traffic to the test's HAR or replays it from there
+ * (see {@link HarSession}). The HAR route is installed first so the blocker runs ahead of it.</p>
  */
 public final class PlaywrightFixture implements AutoCloseable {
 
     private static final Logger LOG = Logger.getLogger(PlaywrightFixture.class.getName());
 
+    private final boolean pooled;
     private final Playwright playwright;
     private final Browser browser;
     private final BrowserContext context;
     private final Page page;
-
-    public PlaywrightFixture() {
-        this.playwright = Playwright.create();
-        this.browser = launchBrowser(playwright);
-
-        Path artifactsBase = Paths.get(Config.artifactsDir()).toAbsolutePath();
-        mkdirsQuietly(artifactsBase);
+    private final CapturePlan capturePlan;
+    private final ScreencastRecorder screencast;
+    private final HarSession har;
+    private final RouteBlocker blocker;
+    private volatile boolean crashed;
+
+    /**
+     * @param harFile this test's HAR, used only when {@code ui.har.mode} is not {@code off}
+     */
+    public PlaywrightFixture(CapturePlan capturePlan, RoutePolicy routePolicy, Path harFile) {
+        this.capturePlan = capturePlan;
+        this.pooled = Config.uiBrowserPooled();
+        if (pooled) {
+            this.playwright = null;
+            this.browser = BrowserPool.acquire();
+        } else {
+            this.playwright = Playwright.create();
+            this.browser = BrowserPool.launch(playwright);
+        }
 
         Browser.NewContextOptions ctxOptions = new Browser.NewContextOptions()
                 .setViewportSize(Config.uiViewportWidth(), Config.uiViewportHeight());
 
-        if (Config.uiVideoOnFailure()) {
-            Path videoDir = artifactsBase.resolve("videos");
-            mkdirsQuietly(videoDir);
-            ctxOptions.setRecordVideoDir(videoDir);
+        // CDP screencast is Chromium-only; other engines fall back to WebM recording
+        boolean screencastMode = capturePlan.video()
+                && "screencast".equals(Config.uiVideoMode())
+                && "chromium".equals(Config.uiBrowser());
+
+        if (capturePlan.video() && !screencastMode) {
+            // Videos land in the store's scratch dir; failed tests move them into the store
+            ctxOptions.setRecordVideoDir(ArtifactStore.get().tempDir());
             ctxOptions.setRecordVideoSize(Config.uiViewportWidth(), Config.uiViewportHeight());
         }
 
-        this.context = browser.newContext(ctxOptions);
+        // Anything failing from here on must hand the pooled browser back, or it would stay leased
+        try {
+            this.context = browser.newContext(ctxOptions);
+            this.har = HarSession.install(context, harFile);
+            this.blocker = RouteBlocker.install(context, routePolicy);
+
+            if (capturePlan.trace()) {
+                this.context.tracing().start(new Tracing.StartOptions()
+                        .setScreenshots(true)
+                        .setSnapshots(true)
+                        .setSources(true));
+            }
 
-        if (Config.uiTraceOnFailure()) {
-            this.context.tracing().start(new Tracing.StartOptions()
-                    .setScreenshots(true)
-                    .setSnapshots(true)
-                    .setSources(true));
+            this.page = context.newPage();
+            this.page.onCrash(p -> crashed = true);
+            this.page.setDefaultTimeout(Config.uiTimeoutMs());
+            this.page.setDefaultNavigationTimeout(Config.uiTimeoutMs());
+
+            this.screencast = screencastMode ? startScreencast(context, page) : null;
+        } catch (RuntimeException e) {
+            close();
+            throw e;
         }
+    }
 
-        this.page = context.newPage();
-        this.page.setDefaultTimeout(Config.uiTimeoutMs());
-        this.page.setDefaultNavigationTimeout(Config.uiTimeoutMs());
+    private static ScreencastRecorder startScreencast(BrowserContext context, Page page) {
+        int maxWidth = Math.min(Config.uiScreencastMaxWidth(), Config.uiViewportWidth());
+        int maxHeight = (int) ((long) maxWidth * Config.uiViewportHeight() / Config.uiViewportWidth());
+        return ScreencastRecorder.start(context, page,
+                Config.uiScreencastSeconds(), Config.uiScreencastFps(), maxWidth, maxHeight);
     }
 
     public GUIContext gui() {
@@ -74,10 +119,28 @@ public final class PlaywrightFixture implements AutoCloseable {
         return context;
     }
 
+    public CapturePlan capturePlan() {
+        return capturePlan;
+    }
+
+    /**
+     * Screencast ring buffer for this page, or {@code null} when video is off or recorded as WebM.
+     */
+    public ScreencastRecorder screencast() {
+        return screencast;
+    }
+
+    /**
+     * HAR recording or replay of this context, or {@code null} when {@code ui.har.mode=off}.
+     */
+    public HarSession har() {
+        return har;
+    }
+
     public void close(ITestResult result) {
         boolean failed = result != null && result.getStatus() == ITestResult.FAILURE;
 
-        if (!failed && Config.uiTraceOnFailure()) {
+        if (!failed && capturePlan.trace()) {
             try {
                 context.tracing().stop();
             } catch (Exception e) {
@@ -85,43 +148,31 @@ public final class PlaywrightFixture implements AutoCloseable {
             }
         }
 
+        Video video = (!failed && capturePlan.video() && screencast == null) ? page.video() : null;
         close();
+
+        // Video of a passing test is never attached; don't leave it behind in the scratch dir
+        if (video != null) {
+            try {
+                video.delete();
+            } catch (Exception e) {
+                LOG.log(Level.FINE, "Failed to delete video of successful test", e);
+            }
+        }
     }
 
     @Override
     public void close() {
+        if (blocker != null) blocker.attachReport();
+        if (har != null) har.attachReport();
+        closeQuietly(screencast);
         closeQuietly(page);
         closeQuietly(context);
-        closeQuietly(browser);
-        closeQuietly(playwright);
-    }
-
-    private static Browser launchBrowser(Playwright pw) {
-        String browserName = Config.uiBrowser().trim().toLowerCase(Locale.ROOT);
-
-        BrowserType browserType = switch (browserName) {
-            case "firefox" -> pw.firefox();
-            case "webkit", "safari" -> pw.webkit();
-            default -> pw.chromium();
-        };
-
-        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
-                .setHeadless(!Config.uiHeaded())
-                .setSlowMo(Config.uiSlowMoMs());
-
-        String channel = Config.uiBrowserChannel();
-        if (channel != null && !channel.isBlank()) {
-            launchOptions.setChannel(channel);
-        }
-
-        return browserType.launch(launchOptions);
-    }
-
-    private static void mkdirsQuietly(Path dir) {
-        try {
-            Files.createDirectories(dir);
-        } catch (Exception e) {
-            LOG.log(Level.FINE, "Failed to create directory: " + dir, e);
+        if (pooled) {
+            BrowserPool.release(crashed);
+        } else {
+            closeQuietly(browser);
+            closeQuietly(playwright);
         }
     }
 
@@ -0,0 +1,171 @@
+package cz.whalebone.support;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import cz.whalebone.reporting.ArtifactPipeline;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a {@link RoutePolicy} to one browser context and counts what it blocked.
+ *
+ * <p>One context route sees every request. Requests the policy lets through are handed on with
+ * {@link Route#fallback()}, so routes registered on the context earlier still apply. Route handlers run on the
+ * thread driving the context, so the counters need no synchronization.</p>
+ *
+ * <p>Only requests and their targets can be counted: a blocked request is never sent, so the bytes it would
+ * have transferred are not known.</p>
+ */
+public final class RouteBlocker {
+
+    private static final int TOP_HOSTS = 10;
+
+    private final RoutePolicy policy;
+    private final Pattern urlRegex;
+    private final Set<String> firstPartySites = new HashSet<>();
+    private final Map<String, Integer> byReason = new TreeMap<>();
+    private final Map<String, Integer> byHost = new TreeMap<>();
+    private int seen;
+    private int blocked;
+
+    private RouteBlocker(RoutePolicy policy) {
+        this.policy = policy;
+        this.urlRegex = policy.urlRegex();
+    }
+
+    /**
+     * @return the installed blocker, or {@code null} if the policy blocks nothing (no route is installed then)
+     */
+    public static RouteBlocker install(BrowserContext context, RoutePolicy policy) {
+        if (policy == null || policy.blocksNothing()) return null;
+
+        RouteBlocker blocker = new RouteBlocker(policy);
+        context.route("**/*", blocker::handle);
+        return blocker;
+    }
+
+    public int seen() {
+        return seen;
+    }
+
+    public int blocked() {
+        return blocked;
+    }
+
+    /**
+     * Human-readable summary: blocked/seen requests, by reason and by host.
+     */
+    public String summary() {
+        Map<String, Integer> topHosts = new LinkedHashMap<>();
+        byHost.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(TOP_HOSTS)
+                .forEach(e -> topHosts.put(e.getKey(), e.getValue()));
+
+        return "Blocked " + blocked + " of " + seen + " requests (" + policy.action().name().toLowerCase(Locale.ROOT)
+                + ")\n"
+                + "By reason: " + format(byReason) + "\n"
+                + "Top hosts: " + format(topHosts) + "\n"
+                + "Policy: types=" + policy.resourceTypes() + ", urlPatterns=" + policy.urlPatterns()
+                + ", thirdParty=" + policy.thirdParty() + ", allowHosts=" + policy.allowHosts() + "\n"
+                + "Bytes of blocked requests are not known: they were never downloaded.\n";
+    }
+
+    /**
+     * Attaches {@link #summary()} to the running test if anything was blocked.
+     */
+    public void attachReport() {
+        if (blocked > 0) {
+            ArtifactPipeline.get().attachText("Blocked requests", "text/plain", ".txt", summary());
+        }
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        seen++;
+
+        String url = request.url();
+        String host = host(url);
+        if (request.isNavigationRequest() && isTopLevel(request)) {
+            if (host != null) firstPartySites.add(site(host));
+            route.fallback();
+            return;
+        }
+
+        String reason = reason(request.resourceType(), url, host);
+        if (reason == null) {
+            route.fallback();
+            return;
+        }
+
+        blocked++;
+        byReason.merge(reason, 1, Integer::sum);
+        if (host != null) byHost.merge(host, 1, Integer::sum);
+
+        if (policy.action() == RoutePolicy.Action.STUB) {
+            route.fulfill(new Route.FulfillOptions().setStatus(200).setBody(""));
+        } else {
+            route.abort("blockedbyclient");
+        }
+    }
+
+    private String reason(String resourceType, String url, String host) {
+        if (policy.resourceTypes().contains(resourceType)) return resourceType;
+        if (urlRegex != null && urlRegex.matcher(url).matches()) return "url pattern";
+        if (policy.thirdParty() && host != null && isThirdParty(host)) return "third-party";
+        return null;
+    }
+
+    private boolean isThirdParty(String host) {
+        // Until the first document has loaded there is no first party to compare with
+        if (firstPartySites.isEmpty() || firstPartySites.contains(site(host))) return false;
+        for (String allowed : policy.allowHosts()) {
+            if (host.equals(allowed) || host.endsWith("." + allowed)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isTopLevel(Request request) {
+        try {
+            return request.frame().parentFrame() == null;
+        } catch (PlaywrightException e) {
+            return false; // e.g. service worker requests have no frame
+        }
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The host's last two labels ({@code www.nhl.com} → {@code nhl.com}); IP addresses and single-label hosts
+     * as they are. Multi-label public suffixes ({@code co.uk}) are not special-cased.
+     */
+    static String site(String host) {
+        if (host.indexOf(':') >= 0 || host.chars().allMatch(c -> c == '.' || Character.isDigit(c))) return host;
+        int last = host.lastIndexOf('.');
+        if (last < 0) return host;
+        int secondLast = host.lastIndexOf('.', last - 1);
+        return secondLast < 0 ? host : host.substring(secondLast + 1);
+    }
+
+    private static String format(Map<String, Integer> counts) {
+        if (counts.isEmpty()) return "-";
+        return counts.entrySet().stream().map(e -> e.getKey() + " " + e.getValue()).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,99 @@
+package cz.whalebone.support;
+
+import cz.whalebone.config.Config;
+import cz.whalebone.util.UrlGlob;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Which requests a UI browser context does not let through (see {@link RouteBlocker}).
+ *
+ * <p>A request is blocked if its Playwright resource type is in {@code resourceTypes}, its URL matches one of
+ * {@code urlPatterns}, or {@code thirdParty} is set and it goes to a site other than the one of the page's top-level
+ * document (hosts in {@code allowHosts} and their subdomains are never third-party). Navigations of the top-level
+ * document are never blocked.</p>
+ *
+ * @param urlPatterns {@link UrlGlob}s: {@code **} matches any characters, {@code *} any but {@code /}
+ */
+public record RoutePolicy(Set<String> resourceTypes,
+                          List<String> urlPatterns,
+                          boolean thirdParty,
+                          List<String> allowHosts,
+                          Action action) {
+
+    public static final RoutePolicy NONE = new RoutePolicy(Set.of(), List.of(), false, List.of(), Action.ABORT);
+
+    public enum Preset {
+        /** Nothing blocked. */
+        NONE,
+        /** Images, audio/video, fonts, subtitle tracks and web manifests. */
+        MEDIA,
+        /** {@link #MEDIA} plus every third-party request (trackers, ads, widgets). */
+        LEAN
+    }
+
+    public enum Action {
+        /** Fail the request, as if the network were down. */
+        ABORT,
+        /** Answer with an empty 200, so pages that wait for the resource's load event carry on. */
+        STUB
+    }
+
+    private static final Set<String> MEDIA_TYPES = Set.of("image", "media", "font", "texttrack", "manifest");
+
+    public RoutePolicy {
+        resourceTypes = Set.copyOf(resourceTypes);
+        urlPatterns = List.copyOf(urlPatterns);
+        allowHosts = List.copyOf(allowHosts);
+    }
+
+    /**
+     * Policy for a test class: its {@link BlockResources} annotation if present, otherwise the {@code ui.block.*}
+     * configuration.
+     */
+    public static RoutePolicy forClass(Class<?> testClass) {
+        BlockResources annotation = testClass != null ? testClass.getAnnotation(BlockResources.class) : null;
+        if (annotation == null) return fromConfig();
+
+        return of(annotation.value(), List.of(annotation.resourceTypes()), List.of(annotation.urlPatterns()),
+                annotation.thirdParty(), annotation.action());
+    }
+
+    public static RoutePolicy fromConfig() {
+        return of(Preset.valueOf(Config.uiBlockPreset().toUpperCase(Locale.ROOT)),
+                Config.uiBlockResourceTypes(),
+                Config.uiBlockUrlPatterns(),
+                Config.uiBlockThirdParty(),
+                Action.valueOf(Config.uiBlockAction().toUpperCase(Locale.ROOT)));
+    }
+
+    private static RoutePolicy of(Preset preset, List<String> resourceTypes, List<String> urlPatterns,
+                                  boolean thirdParty, Action action) {
+        Set<String> types = new LinkedHashSet<>(resourceTypes);
+        if (preset != Preset.NONE) types.addAll(MEDIA_TYPES);
+        return new RoutePolicy(types, urlPatterns, thirdParty || preset == Preset.LEAN, Config.uiBlockAllowHosts(),
+                action);
+    }
+
+    public boolean blocksNothing() {
+        return resourceTypes.isEmpty() && urlPatterns.isEmpty() && !thirdParty;
+    }
+
+    /**
+     * {@link #urlPatterns} compiled into one regular expression, or {@code null} if there are none.
+     */
+    Pattern urlRegex() {
+        if (urlPatterns.isEmpty()) return null;
+
+        StringBuilder regex = new StringBuilder();
+        for (String glob : urlPatterns) {
+            if (!regex.isEmpty()) regex.append('|');
+            regex.append("(?:").append(UrlGlob.toRegex(glob)).append(')');
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -1,52 +1,78 @@
 package cz.whalebone.tests.api;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import cz.whalebone.api.client.JsonSchemas;
 import cz.whalebone.api.client.TeamsApiClient;
+import cz.whalebone.api.client.TeamsJson;
 import cz.whalebone.api.model.Team;
+import cz.whalebone.api.model.TeamsIndex;
 import cz.whalebone.api.model.TeamsResponse;
-import cz.whalebone.config.Config;
+import cz.whalebone.reporting.HttpCaptureListener;
+import cz.whalebone.support.ApiClients;
 import io.qameta.allure.*;
-import io.restassured.module.jsv.JsonSchemaValidator;
+import io.restassured.response.Response;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.lang.reflect.Method;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Epic("NHL Teams API")
 @Feature("/api/teams")
+// Not a BaseListeners subclass: registered here so on-failure HTTP capture works when this class runs alone
+@Listeners(HttpCaptureListener.class)
 public class TeamsApiTests {
 
+    private static final String CONTRACT = "Contract";
+
     private TeamsApiClient client;
+    private JsonNode body;
     private TeamsResponse teamsResponse;
+    private TeamsIndex teams;
 
     @BeforeClass
     public void beforeClass() {
-        client = new TeamsApiClient(Config.apiBaseUrl());
+        client = ApiClients.teams();
     }
 
+    /**
+     * One request per test, parsed into a tree once, which the contract test validates and every test binds from.
+     * Other tests may be served from the response cache; contract tests bypass it, so the schema is always checked
+     * against a body the API has just returned.
+     */
     @BeforeMethod
-    public void fetchTeams() {
-        teamsResponse = client.getTeams();
+    public void fetchTeams(Method test) {
+        Story story = test.getAnnotation(Story.class);
+        TeamsApiClient source = story != null && CONTRACT.equals(story.value()) ? client.bypassCache() : client;
+
+        Response raw = source.getTeamsRaw();
+        raw.then().statusCode(200);
+        body = JsonSchemas.tree(raw.asByteArray());
+        teamsResponse = TeamsJson.read(body);
         assertThat(teamsResponse)
                 .as("TeamsResponse must not be null")
                 .isNotNull();
         assertThat(teamsResponse.teams())
                 .as("Teams list must not be null")
                 .isNotNull();
+        teams = TeamsIndex.of(teamsResponse);
     }
 
     @Test
-    @Story("Contract")
+    @Story(CONTRACT)
     @Description("Response must match the agreed JSON schema contract.")
     @Severity(SeverityLevel.CRITICAL)
     public void verifyTeamsResponseMatchesSchema() {
-        client.getTeamsRaw()
-                .then()
-                .statusCode(200)
-                .body(JsonSchemaValidator.matchesJsonSchemaInClasspath("schema/teams.schema.json"));
+        // The fresh (uncached) tree fetchTeams() bound teamsResponse from: no second request, no second parse
+        JsonSchemas.assertMatches(JsonSchemas.TEAMS, body);
+
+        assertThat(teamsResponse.teams())
+                .as("Schema-valid response must bind to a non-empty teams list")
+                .isNotEmpty();
     }
 
     @Test
@@ -64,8 +90,7 @@ public class TeamsApiTests {
     @Description("The team with the smallest 'founded' year must be Montreal Canadiens (1909).")
     @Severity(SeverityLevel.CRITICAL)
     public void verifyOldestTeamIsMontrealCanadiens() {
-        Team oldest = teamsResponse.teams().stream()
-                .min(Comparator.comparingInt(Team::founded))
+        Team oldest = teams.oldest()
                 .orElseThrow(() -> new AssertionError("Team list is empty"));
 
         assertThat(oldest.name())
@@ -85,19 +110,13 @@ public class TeamsApiTests {
                 .as("API should return a non-empty list of teams")
                 .isNotEmpty();
 
-        Map<String, List<Team>> byCity = teamsResponse.teams().stream()
-                .filter(t -> t.location() != null && !t.location().isBlank())
-                .collect(Collectors.groupingBy(Team::location));
-
-        boolean anyMultiTeamCity = byCity.values().stream().anyMatch(v -> v.size() > 1);
-        assertThat(anyMultiTeamCity)
+        assertThat(teams.citiesWithMultipleTeams())
                 .as("Expected at least one city to have more than 1 team")
-                .isTrue();
+                .isNotEmpty();
 
-        List<Team> nyTeams = byCity.get("New York");
+        List<Team> nyTeams = teams.inCity("New York");
         assertThat(nyTeams)
                 .as("Expected 'New York' to have exactly 2 teams")
-                .isNotNull()
                 .hasSize(2);
 
         assertThat(nyTeams)
@@ -111,10 +130,7 @@ public class TeamsApiTests {
     @Description("The Metropolitan division must contain exactly 8 named teams.")
     @Severity(SeverityLevel.NORMAL)
     public void verifyMetropolitanDivisionHas8Teams() {
-        List<Team> metro = teamsResponse.teams().stream()
-                .filter(t -> t.division() != null
-                        && "Metropolitan".equalsIgnoreCase(t.division().name()))
-                .toList();
+        List<Team> metro = teams.inDivision("Metropolitan");
 
         assertThat(metro)
                 .as("Metropolitan division team count")
@@ -0,0 +1,44 @@
+package cz.whalebone.tests.load;
+
+import cz.whalebone.api.client.TeamsApiClient;
+import cz.whalebone.api.load.LoadGenerator;
+import cz.whalebone.api.load.LoadProfile;
+import cz.whalebone.api.load.LoadReport;
+import cz.whalebone.config.Config;
+import cz.whalebone.reporting.BaseListeners;
+import cz.whalebone.support.ApiClients;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("NHL Teams API")
+@Feature("/api/teams load")
+public class TeamsApiLoadTests extends BaseListeners {
+
+    @Test
+    @Story("Latency under load")
+    @Description("Drives GET /api/teams with the configured load profile; error rate and p99 latency must stay within budget.")
+    @Severity(SeverityLevel.NORMAL)
+    public void teamsEndpointStaysWithinLatencyAndErrorBudget() {
+        TeamsApiClient client = ApiClients.teams().forLoad();
+        LoadProfile profile = LoadProfile.fromConfig();
+
+        LoadReport report = LoadGenerator.run("teams", profile, () -> client.getTeamsRaw().statusCode());
+        report.publish();
+
+        assertThat(report.requests())
+                .as("Load run must complete at least one request")
+                .isPositive();
+        assertThat(report.errorRatePct())
+                .as("Error rate %% (errors by type: %s)", report.errorsByType())
+                .isLessThanOrEqualTo(Config.loadMaxErrorRatePct());
+
+        int p99Budget = Config.loadP99BudgetMs();
+        if (p99Budget > 0) {
+            assertThat(report.latencyMs().p99())
+                    .as("p99 latency ms (coordinated-omission corrected)")
+                    .isLessThanOrEqualTo(p99Budget);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package cz.whalebone.tests.ui;
+
+import cz.whalebone.api.model.Team;
+import cz.whalebone.config.Config;
+import cz.whalebone.pages.nhl.LeagueBirthplaces;
+import cz.whalebone.pages.nhl.LeagueRosterScraper;
+import cz.whalebone.reporting.BaseListeners;
+import cz.whalebone.support.ApiClients;
+import cz.whalebone.support.RoutePolicy;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Epic("NHL Teams")
+@Feature("League roster scrape")
+public class LeagueRosterScrapeTests extends BaseListeners {
+
+    @Test
+    @Story("Birthplace distribution")
+    @Description("""
+            Uses the API to list every NHL team, scrapes all rosters concurrently and aggregates
+            player birthplaces by country, per team and league-wide.
+            Asserts that at most league.maxFailures sites failed and that Canadian-born players
+            outnumber US-born players across the league.
+            """)
+    @Severity(SeverityLevel.NORMAL)
+    public void scrapeAllRosters_verifyMoreCanadiansThanUSA() {
+        List<Team> teams = ApiClients.teams().getTeams().teams();
+        assertThat(teams).as("Team list from API").isNotEmpty();
+
+        LeagueBirthplaces league = LeagueRosterScraper.scrape(teams,
+                LeagueRosterScraper.Settings.fromConfig().withRoutePolicy(RoutePolicy.forClass(getClass())));
+        league.publish();
+
+        assertThat(league.failed())
+                .as("Teams whose roster could not be scraped: %s", league.teams().stream()
+                        .filter(t -> !t.succeeded()).map(t -> t.team() + ": " + t.error()).toList())
+                .isLessThanOrEqualTo(Config.leagueMaxFailures());
+        assertThat(league.succeeded()).as("Scraped rosters").isPositive();
+
+        assertThat(league.count("CAN"))
+                .as("Canadian-born players (%d) should outnumber US-born players (%d) league-wide",
+                        league.count("CAN"), league.count("USA"))
+                .isGreaterThan(league.count("USA"));
+    }
+}
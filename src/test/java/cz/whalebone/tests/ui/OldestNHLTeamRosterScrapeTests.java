@@ -1,13 +1,13 @@
 package cz.whalebone.tests.ui;
 
 import cz.whalebone.api.model.Team;
+import cz.whalebone.api.model.TeamsIndex;
 import cz.whalebone.api.model.TeamsResponse;
 import cz.whalebone.support.BaseUiTest;
-import cz.whalebone.util.CountryUtil;
+import cz.whalebone.util.CountryHistogram;
 import io.qameta.allure.*;
 import org.testng.annotations.Test;
 
-import java.util.Comparator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,20 +26,15 @@ public class OldestNHLTeamRosterScrapeTests extends BaseUiTest {
     @Severity(SeverityLevel.NORMAL)
     public void scrapeOldestTeamRoster_verifyMoreCanadiansThanUSA() {
         TeamsResponse res = apiClient().getTeams();
-        Team oldest = res.teams().stream()
-                .min(Comparator.comparingInt(Team::founded))
+        Team oldest = TeamsIndex.of(res).oldest()
                 .orElseThrow(() -> new AssertionError("Team list from API was empty"));
 
         gui().rosterPage().open(oldest.officialSiteUrl());
         List<String> birthplaces = gui().rosterPage().scrapeBirthplaces();
 
-        long canCount = birthplaces.stream()
-                .filter(bp -> CountryUtil.endsWithCountryCode(bp, "CAN"))
-                .count();
-
-        long usaCount = birthplaces.stream()
-                .filter(bp -> CountryUtil.endsWithCountryCode(bp, "USA"))
-                .count();
+        CountryHistogram countries = CountryHistogram.of(birthplaces);
+        long canCount = countries.count("CAN");
+        long usaCount = countries.count("USA");
 
         assertThat(canCount)
                 .as("Canadian-born players (%d) should outnumber US-born players (%d) on the %s roster",
@@ -0,0 +1,135 @@
+package cz.whalebone.tests.util;
+
+import cz.whalebone.util.BirthplaceParser;
+import cz.whalebone.util.CountryHistogram;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link BirthplaceParser} (and {@link CountryHistogram} on top of it) must agree with the
+ * {@code trim} / {@code split} / {@code toUpperCase} formulation it replaced, on roster-like birthplaces and on
+ * random strings built from the characters that matter to the parser.
+ */
+@Epic("Roster scraping")
+@Feature("Birthplace parsing")
+public class BirthplaceParserTests {
+
+    /**
+     * Shaped like the "Birth Place" cells of NHL rosters, plus the malformed values scraping produces.
+     */
+    private static final List<String> ROSTER_BIRTHPLACES = List.of(
+            "Montréal, QC, CAN", "St. John's, NL, CAN", "Sault Ste. Marie, ON, CAN", "Toronto, ON, CAN",
+            "St. Louis, MO, USA", "Scottsdale, AZ, USA", "Boston, MA, USA", "Winston-Salem, NC, USA",
+            "Örnsköldsvik, SWE", "Helsinki, FIN", "České Budějovice, CZE", "Trenčín, SVK", "Nizhny Novgorod, RUS",
+            "Kloten, CHE", "Riga, LVA", "Herning, DNK", "Landshut, DEU", "Minsk, BLR", "Oslo, NOR", "Ljubljana, SVN",
+            // whitespace and separators the page leaves around cells
+            "  Calgary, AB, CAN  ", "Detroit, MI, USA\n", "\tStockholm, SWE", "Praha,CZE", "Praha ,CZE ",
+            "Trenčín, SVK,", "Trenčín, SVK,,", "Trenčín, SVK, ,", "Bern, che", "Espoo, Fin",
+            // degenerate cells
+            "CAN", "Unknown", "", " ", ",", ", ,", ",,,", "Montréal,", " Montréal, QC, CAN ");
+
+    private static final List<String> CODES = List.of("CAN", "USA", "SWE", "FIN", "CZE", "SVK", "CHE",
+            "can", " usa ", "Fin", "", " ", "QC", "Unknown");
+
+    @Test
+    @Story("Equivalence")
+    @Description("endsWithCountryCode and countryCode match the split-based implementation on roster birthplaces.")
+    @Severity(SeverityLevel.CRITICAL)
+    public void parserMatchesLegacyOnRosterBirthplaces() {
+        for (String birthplace : ROSTER_BIRTHPLACES) {
+            assertAgrees(birthplace);
+        }
+    }
+
+    @Test
+    @Story("Equivalence")
+    @Description("endsWithCountryCode and countryCode match the split-based implementation on random strings.")
+    @Severity(SeverityLevel.NORMAL)
+    public void parserMatchesLegacyOnRandomStrings() {
+        // Letters in both cases, accented letters, commas and every kind of whitespace trim() removes
+        char[] alphabet = "aAcCnNéÉčČ ,,,\t\n\u000b ".toCharArray();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            char[] chars = new char[random.nextInt(12)];
+            for (int c = 0; c < chars.length; c++) chars[c] = alphabet[random.nextInt(alphabet.length)];
+            assertAgrees(new String(chars));
+        }
+    }
+
+    @Test
+    @Story("Equivalence")
+    @Description("CountryHistogram counts the same countries as grouping by the split-based country code.")
+    @Severity(SeverityLevel.NORMAL)
+    public void histogramMatchesLegacyGrouping() {
+        Random random = new Random(7);
+        List<String> birthplaces = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            birthplaces.add(ROSTER_BIRTHPLACES.get(random.nextInt(ROSTER_BIRTHPLACES.size())));
+        }
+
+        Map<String, Long> expected = new HashMap<>();
+        CountryHistogram histogram = new CountryHistogram();
+        for (String birthplace : birthplaces) {
+            String code = legacyCountryCode(birthplace);
+            if (code != null) expected.merge(code, 1L, Long::sum);
+            histogram.add(birthplace);
+        }
+
+        assertThat(histogram.toMap())
+                .as("Country counts of %d roster birthplaces", birthplaces.size())
+                .isEqualTo(expected);
+    }
+
+    @Test
+    @Story("Edge cases")
+    @Description("Null birthplaces and codes yield no country.")
+    @Severity(SeverityLevel.MINOR)
+    public void nullYieldsNoCountry() {
+        assertThat(BirthplaceParser.countryCode(null)).isNull();
+        assertThat(BirthplaceParser.endsWithCountryCode(null, "CAN")).isFalse();
+        assertThat(BirthplaceParser.endsWithCountryCode("Montréal, QC, CAN", null)).isFalse();
+    }
+
+    private static void assertAgrees(String birthplace) {
+        assertThat(BirthplaceParser.countryCode(birthplace))
+                .as("countryCode(\"%s\")", birthplace)
+                .isEqualTo(legacyCountryCode(birthplace));
+        for (String code : CODES) {
+            assertThat(BirthplaceParser.endsWithCountryCode(birthplace, code))
+                    .as("endsWithCountryCode(\"%s\", \"%s\")", birthplace, code)
+                    .isEqualTo(legacyEndsWithCountryCode(birthplace, code));
+        }
+    }
+
+    /**
+     * The implementation {@link BirthplaceParser} replaced (upper-cased in the root locale, so the result does not
+     * depend on the JVM's default locale).
+     */
+    private static boolean legacyEndsWithCountryCode(String birthPlace, String countryCode) {
+        String s = birthPlace.trim();
+        String code = countryCode.trim().toUpperCase(Locale.ROOT);
+        if (s.isEmpty() || code.isEmpty()) return false;
+
+        String[] parts = s.split(",");
+        if (parts.length == 0) return false;
+
+        return parts[parts.length - 1].trim().toUpperCase(Locale.ROOT).equals(code);
+    }
+
+    private static String legacyCountryCode(String birthPlace) {
+        String[] parts = birthPlace.trim().split(",");
+        if (parts.length == 0) return null;
+
+        String last = parts[parts.length - 1].trim().toUpperCase(Locale.ROOT);
+        return last.isEmpty() ? null : last;
+    }
+}
@@ -0,0 +1,101 @@
+package cz.whalebone.util;
+
+/**
+ * Locates the country code of a birthplace ({@code "Montreal, QC, CAN"} → {@code CAN}) by scanning back from the
+ * end of the string, without trimming, upper-casing or splitting it into new strings.
+ *
+ * <p>Same results as the {@code trim()} / {@code split(",")} / {@code toUpperCase()} formulation:
+ * <ul>
+ *   <li>surrounding characters {@code <= ' '} are ignored, as by {@link String#trim()}</li>
+ *   <li>trailing empty segments are dropped, as by {@link String#split(String)} ({@code "CAN,,"} → {@code CAN});
+ *   a segment holding only whitespace is not empty and yields no code ({@code "CAN, ,"} → none)</li>
+ *   <li>codes compare case-insensitively, character by character</li>
+ * </ul>
+ *
+ * <p>A segment is returned as a range packed into a {@code long} ({@link #start(long)}, {@link #end(long)}), so
+ * callers such as {@link CountryHistogram} can look it up without allocating.</p>
+ */
+public final class BirthplaceParser {
+
+    /**
+     * Returned by {@link #lastSegment} when there is no non-blank country segment.
+     */
+    public static final long NONE = -1L;
+
+    private BirthplaceParser() {
+    }
+
+    /**
+     * Range of the trimmed last comma-separated segment of {@code birthPlace}, or {@link #NONE}.
+     */
+    public static long lastSegment(CharSequence birthPlace) {
+        if (birthPlace == null) return NONE;
+
+        int from = 0;
+        int to = birthPlace.length();
+        while (from < to && birthPlace.charAt(from) <= ' ') from++;
+        while (to > from && birthPlace.charAt(to - 1) <= ' ') to--;
+        while (to > from && birthPlace.charAt(to - 1) == ',') to--;
+        if (to == from) return NONE;
+
+        int start = to;
+        while (start > from && birthPlace.charAt(start - 1) != ',') start--;
+
+        while (start < to && birthPlace.charAt(start) <= ' ') start++;
+        while (to > start && birthPlace.charAt(to - 1) <= ' ') to--;
+        return to == start ? NONE : range(start, to);
+    }
+
+    public static int start(long range) {
+        return (int) (range >>> 32);
+    }
+
+    public static int end(long range) {
+        return (int) range;
+    }
+
+    /**
+     * Allocation-free equivalent of {@link CountryUtil#endsWithCountryCode}.
+     */
+    public static boolean endsWithCountryCode(CharSequence birthPlace, CharSequence countryCode) {
+        if (countryCode == null) return false;
+
+        int codeFrom = 0;
+        int codeTo = countryCode.length();
+        while (codeFrom < codeTo && countryCode.charAt(codeFrom) <= ' ') codeFrom++;
+        while (codeTo > codeFrom && countryCode.charAt(codeTo - 1) <= ' ') codeTo--;
+        if (codeTo == codeFrom) return false;
+
+        long segment = lastSegment(birthPlace);
+        return segment != NONE
+                && regionEqualsIgnoreCase(birthPlace, start(segment), end(segment), countryCode, codeFrom, codeTo);
+    }
+
+    /**
+     * Upper-cased country code of {@code birthPlace}, or {@code null}. Allocates only the returned string.
+     */
+    public static String countryCode(CharSequence birthPlace) {
+        long segment = lastSegment(birthPlace);
+        return segment == NONE ? null : upperCase(birthPlace, start(segment), end(segment));
+    }
+
+    static boolean regionEqualsIgnoreCase(CharSequence a, int aFrom, int aTo, CharSequence b, int bFrom, int bTo) {
+        if (aTo - aFrom != bTo - bFrom) return false;
+        for (int i = aFrom, j = bFrom; i < aTo; i++, j++) {
+            char x = a.charAt(i);
+            char y = b.charAt(j);
+            if (x != y && Character.toUpperCase(x) != Character.toUpperCase(y)) return false;
+        }
+        return true;
+    }
+
+    static String upperCase(CharSequence s, int from, int to) {
+        char[] chars = new char[to - from];
+        for (int i = from; i < to; i++) chars[i - from] = Character.toUpperCase(s.charAt(i));
+        return new String(chars);
+    }
+
+    private static long range(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+}
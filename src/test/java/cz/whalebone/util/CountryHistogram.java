@@ -0,0 +1,146 @@
+package cz.whalebone.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts birthplaces per country in one pass.
+ *
+ * <p>Each distinct country code gets a compact integer id on first sight (the only allocation per country);
+ * after that, {@link #add(CharSequence)} parses the birthplace with {@link BirthplaceParser}, finds the id in an
+ * open-addressing table by hashing the code's characters in place, and increments a primitive counter.
+ * Birthplaces without a country segment are counted as {@link #unknown()}.</p>
+ *
+ * <p>Not thread-safe; use one histogram per thread and {@link #merge} them.</p>
+ */
+public final class CountryHistogram {
+
+    private String[] codes = new String[16];
+    private long[] counts = new long[16];
+    /** id + 1 per slot, 0 = empty; length is a power of two, at most half full. */
+    private int[] slots = new int[32];
+    private int size;
+    private long unknown;
+
+    public static CountryHistogram of(Iterable<? extends CharSequence> birthplaces) {
+        CountryHistogram h = new CountryHistogram();
+        for (CharSequence birthplace : birthplaces) h.add(birthplace);
+        return h;
+    }
+
+    /**
+     * Counts one birthplace.
+     *
+     * @return the country's id, or {@code -1} if the birthplace has no country segment
+     */
+    public int add(CharSequence birthplace) {
+        long segment = BirthplaceParser.lastSegment(birthplace);
+        if (segment == BirthplaceParser.NONE) {
+            unknown++;
+            return -1;
+        }
+        int id = intern(birthplace, BirthplaceParser.start(segment), BirthplaceParser.end(segment));
+        counts[id]++;
+        return id;
+    }
+
+    public void merge(CountryHistogram other) {
+        for (int id = 0; id < other.size; id++) {
+            String code = other.codes[id];
+            int mine = intern(code, 0, code.length());
+            counts[mine] += other.counts[id];
+        }
+        unknown += other.unknown;
+    }
+
+    /**
+     * Count for {@code code} (trimmed, any case); 0 if never seen.
+     */
+    public long count(String code) {
+        int id = idOf(code);
+        return id < 0 ? 0 : counts[id];
+    }
+
+    public int idOf(String code) {
+        if (code == null) return -1;
+        String c = code.trim();
+        return find(c, 0, c.length(), hash(c, 0, c.length()));
+    }
+
+    public long count(int id) {
+        return counts[id];
+    }
+
+    public String code(int id) {
+        return codes[id];
+    }
+
+    /**
+     * Number of distinct countries; ids run from 0 to {@code size() - 1} in order of first sight.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long unknown() {
+        return unknown;
+    }
+
+    /**
+     * Counts by country code, most frequent first (ties by code).
+     */
+    public Map<String, Long> toMap() {
+        Integer[] ids = new Integer[size];
+        for (int i = 0; i < size; i++) ids[i] = i;
+        Arrays.sort(ids, (a, b) -> counts[a] != counts[b] ? Long.compare(counts[b], counts[a]) : codes[a].compareTo(codes[b]));
+
+        Map<String, Long> out = new LinkedHashMap<>();
+        for (int id : ids) out.put(codes[id], counts[id]);
+        return out;
+    }
+
+    private int intern(CharSequence s, int from, int to) {
+        int hash = hash(s, from, to);
+        int id = find(s, from, to, hash);
+        if (id >= 0) return id;
+
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        id = size++;
+        codes[id] = BirthplaceParser.upperCase(s, from, to);
+        if (size * 2 > slots.length) rehash();
+        else insert(hash, id);
+        return id;
+    }
+
+    private int find(CharSequence s, int from, int to, int hash) {
+        int mask = slots.length - 1;
+        for (int i = hash & mask; slots[i] != 0; i = (i + 1) & mask) {
+            int id = slots[i] - 1;
+            String code = codes[id];
+            if (BirthplaceParser.regionEqualsIgnoreCase(code, 0, code.length(), s, from, to)) return id;
+        }
+        return -1;
+    }
+
+    private void insert(int hash, int id) {
+        int mask = slots.length - 1;
+        int i = hash & mask;
+        while (slots[i] != 0) i = (i + 1) & mask;
+        slots[i] = id + 1;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        for (int id = 0; id < size; id++) insert(hash(codes[id], 0, codes[id].length()), id);
+    }
+
+    private static int hash(CharSequence s, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) h = 31 * h + Character.toUpperCase(s.charAt(i));
+        return h ^ (h >>> 16);
+    }
+}
@@ -9,18 +9,21 @@ public final class CountryUtil {
      * (trimmed, case-insensitive) matches {@code countryCode}.
      *
      * <p>Example: {@code endsWithCountryCode("Montreal, QC, CAN", "CAN") == true}</p>
+     *
+     * <p>Does not allocate (see {@link BirthplaceParser}); to count many birthplaces by country use
+     * {@link CountryHistogram}.</p>
      */
     public static boolean endsWithCountryCode(String birthPlace, String countryCode) {
-        if (birthPlace == null || countryCode == null) return false;
-
-        String s    = birthPlace.trim();
-        String code = countryCode.trim().toUpperCase();
-        if (s.isEmpty() || code.isEmpty()) return false;
-
-        String[] parts = s.split(",");
-        if (parts.length == 0) return false;
+        return BirthplaceParser.endsWithCountryCode(birthPlace, countryCode);
+    }
 
-        String last = parts[parts.length - 1].trim().toUpperCase();
-        return last.equals(code);
+    /**
+     * Returns the last comma-separated segment of {@code birthPlace}, trimmed and upper-cased, or {@code null}
+     * if there is none. Consistent with {@link #endsWithCountryCode}.
+     *
+     * <p>Example: {@code countryCode("Montreal, QC, CAN") == "CAN"}</p>
+     */
+    public static String countryCode(String birthPlace) {
+        return BirthplaceParser.countryCode(birthPlace);
     }
 }
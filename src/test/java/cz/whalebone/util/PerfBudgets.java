@@ -0,0 +1,96 @@
+package cz.whalebone.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Per-URL limits on page metrics, parsed from {@code ui.perf.budgets}.
+ *
+ * <p>Format: entries separated by {@code ;}, each a {@link UrlGlob} followed by {@code metric=limit} pairs, e.g.
+ * {@code **uitestingplayground.com/** ttfb=2000 load=8000; **.nhl.com/** lcp=10000}. The first entry whose glob
+ * matches the whole URL applies; metrics it does not name, or that the page did not report, are not checked.</p>
+ */
+public final class PerfBudgets {
+
+    /** Metrics a budget can limit: milliseconds, except {@code transferKb}. */
+    public static final Set<String> METRICS = Set.of("ttfb", "dcl", "load", "fcp", "lcp", "transferKb");
+
+    public static final PerfBudgets NONE = new PerfBudgets(List.of());
+
+    private record Entry(String glob, Pattern url, Map<String, Double> limits) {
+    }
+
+    private final List<Entry> entries;
+
+    private PerfBudgets(List<Entry> entries) {
+        this.entries = List.copyOf(entries);
+    }
+
+    /**
+     * @throws IllegalArgumentException on a malformed entry or an unknown metric
+     */
+    public static PerfBudgets parse(String spec) {
+        if (spec == null || spec.isBlank()) return NONE;
+
+        List<Entry> entries = new ArrayList<>();
+        for (String part : spec.split(";")) {
+            if (part.isBlank()) continue;
+            String[] tokens = part.trim().split("\\s+");
+            if (tokens.length < 2) {
+                throw new IllegalArgumentException("budget needs a URL glob and at least one metric=limit: "
+                        + part.trim());
+            }
+
+            Map<String, Double> limits = new LinkedHashMap<>();
+            for (int i = 1; i < tokens.length; i++) {
+                int eq = tokens[i].indexOf('=');
+                String metric = eq > 0 ? tokens[i].substring(0, eq) : tokens[i];
+                if (!METRICS.contains(metric)) {
+                    throw new IllegalArgumentException("unknown metric '" + metric + "' (expected one of "
+                            + String.join("/", METRICS.stream().sorted().toList()) + ")");
+                }
+                try {
+                    double limit = Double.parseDouble(tokens[i].substring(eq + 1));
+                    if (limit < 0) throw new NumberFormatException();
+                    limits.put(metric, limit);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("limit of " + metric + " must be a non-negative number: "
+                            + tokens[i]);
+                }
+            }
+            entries.add(new Entry(tokens[0], UrlGlob.compile(tokens[0]), limits));
+        }
+        return new PerfBudgets(entries);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Describes each metric of {@code url} over its budget; empty if all are within (or no budget applies).
+     *
+     * @param metrics measured values by metric name; missing or {@code null} values are skipped
+     */
+    public List<String> violations(String url, Map<String, ? extends Number> metrics) {
+        for (Entry entry : entries) {
+            if (!entry.url().matcher(url).matches()) continue;
+
+            List<String> out = new ArrayList<>();
+            entry.limits().forEach((metric, limit) -> {
+                Number value = metrics.get(metric);
+                if (value != null && value.doubleValue() > limit) {
+                    out.add(String.format(Locale.ROOT, "%s %.0f > %.0f (budget %s)", metric, value.doubleValue(),
+                            limit, entry.glob()));
+                }
+            });
+            return out;
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,35 @@
+package cz.whalebone.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * URL globs as used in configuration: {@code **} matches any characters, {@code *} any but {@code /},
+ * {@code ?} one character; everything else is literal.
+ */
+public final class UrlGlob {
+
+    private UrlGlob() {
+    }
+
+    public static Pattern compile(String glob) {
+        return Pattern.compile(toRegex(glob));
+    }
+
+    public static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 16);
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+}